@@ -0,0 +1,25 @@
+package com.vishnu.finance.finance_tracker.config;
+
+import com.vishnu.finance.finance_tracker.service.Money;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Currency;
+
+@Configuration
+public class MoneyConfig {
+    // Scale of every amount column, decimal(38,2)
+    static final int STORED_SCALE = 2;
+
+    // Scale of the in-memory sums, which must match the stored amounts or toMinor would round them
+    @Bean
+    public Money money(@Value("${app.money.currency:USD}") Currency currency) {
+        Money money = Money.of(currency);
+        if (money.scale() != STORED_SCALE) {
+            throw new IllegalStateException("app.money.currency " + currency.getCurrencyCode() + " has " + money.scale()
+                    + " minor digits but amounts are stored with " + STORED_SCALE);
+        }
+        return money;
+    }
+}
@@ -0,0 +1,68 @@
+package com.vishnu.finance.finance_tracker.config;
+
+import com.vishnu.finance.finance_tracker.entity.User;
+import com.vishnu.finance.finance_tracker.repository.UserRepository;
+import com.vishnu.finance.finance_tracker.service.BalanceService;
+import com.vishnu.finance.finance_tracker.service.MonthlySummaryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Maintenance entry point for the monthly rollup. Start the application with
+ * {@code --app.rollup.command=verify} to report drift between
+ * {@code monthly_summary} and {@code transactions}, or
+ * {@code --app.rollup.command=rebuild} to recompute every user's rows and
+ * balance checkpoints.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.rollup.command")
+public class MonthlySummaryCommandRunner implements ApplicationRunner {
+    private final MonthlySummaryService monthlySummaryService;
+    private final BalanceService balanceService;
+    private final UserRepository userRepository;
+
+    @Value("${app.rollup.command}")
+    private String command;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        switch (command) {
+            case "verify" -> verify();
+            case "rebuild" -> rebuild();
+            default -> throw new IllegalArgumentException("Unknown rollup command: " + command);
+        }
+    }
+
+    private void verify() {
+        int drifted = 0;
+        for (User user : userRepository.findAll()) {
+            List<MonthlySummaryService.Drift> drift = monthlySummaryService.verify(user.getId());
+            for (MonthlySummaryService.Drift d : drift) {
+                log.warn("Rollup drift for user {} category {} {} {}: expected {} ({} rows), stored {} ({} rows)",
+                        d.key().userId(), d.key().categoryId(), d.key().type(), d.key().month(),
+                        d.expectedTotal(), d.expectedCount(), d.storedTotal(), d.storedCount());
+            }
+            drifted += drift.size();
+        }
+        log.info("Rollup verification finished: {} drifted rows", drifted);
+    }
+
+    private void rebuild() {
+        int rows = 0;
+        int checkpoints = 0;
+        for (User user : userRepository.findAll()) {
+            rows += monthlySummaryService.rebuild(user.getId());
+            checkpoints += balanceService.rebuild(user.getId());
+        }
+        log.info("Rollup rebuild finished: {} rows and {} balance checkpoints written", rows, checkpoints);
+    }
+}
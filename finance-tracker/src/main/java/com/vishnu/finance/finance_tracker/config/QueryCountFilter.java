@@ -0,0 +1,85 @@
+package com.vishnu.finance.finance_tracker.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements issued while serving each request, including the
+ * ones made by the security filters. The count is recorded in
+ * {@code app.http.statements}, stored as a request attribute, optionally sent
+ * back as {@value #HEADER}, and logged when it exceeds the per-request budget.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryCountFilter extends OncePerRequestFilter {
+    public static final String HEADER = "X-Query-Count";
+    public static final String COUNT_ATTRIBUTE = QueryCountFilter.class.getName() + ".count";
+
+    private final long budget;
+    private final boolean exposeHeader;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public QueryCountFilter(@Value("${app.sql.query-budget.per-request:10}") long budget,
+                            @Value("${app.sql.query-count-header:false}") boolean exposeHeader,
+                            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.budget = budget;
+        this.exposeHeader = exposeHeader;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = QueryCounter.current();
+        // The header has to be in place before the body commits the response
+        HttpServletResponse target = !exposeHeader ? response : new OnCommittedResponseWrapper(response) {
+            @Override
+            protected void onResponseCommitted() {
+                setHeader(HEADER, Long.toString(QueryCounter.current() - start));
+            }
+        };
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            long statements = QueryCounter.current() - start;
+            request.setAttribute(COUNT_ATTRIBUTE, statements);
+            if (exposeHeader && !response.isCommitted()) {
+                response.setHeader(HEADER, Long.toString(statements));
+            }
+            record(request, statements);
+        }
+    }
+
+    private void record(HttpServletRequest request, long statements) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            DistributionSummary.builder("app.http.statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(registry)
+                    .record(statements);
+        }
+        if (budget > 0 && statements > budget) {
+            log.warn("{} {} issued {} SQL statements, over the budget of {}", request.getMethod(), uri, statements, budget);
+        }
+    }
+}
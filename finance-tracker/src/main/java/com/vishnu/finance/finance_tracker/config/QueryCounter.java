@@ -0,0 +1,21 @@
+package com.vishnu.finance.finance_tracker.config;
+
+/**
+ * Running count of the SQL statements each thread has executed through
+ * {@link SlowQueryLoggingDataSource}. To measure a unit of work, read
+ * {@link #current()} before and after it; nested measurements stay independent.
+ */
+public final class QueryCounter {
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    private QueryCounter() {
+    }
+
+    public static long current() {
+        return COUNT.get()[0];
+    }
+
+    static void increment() {
+        COUNT.get()[0]++;
+    }
+}
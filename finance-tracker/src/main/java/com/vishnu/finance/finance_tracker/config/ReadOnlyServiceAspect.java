@@ -0,0 +1,34 @@
+package com.vishnu.finance.finance_tracker.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Marks the thread while a {@code @Transactional(readOnly = true)} service
+ * method runs. Spring Data runs its own repository reads read-only as well;
+ * the mark keeps those on the primary, so only service-level reads that opted
+ * in can be served from the replica.
+ */
+@Aspect
+public class ReadOnlyServiceAspect {
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    public static boolean isActive() {
+        return Boolean.TRUE.equals(ACTIVE.get());
+    }
+
+    @Around("within(@org.springframework.stereotype.Service *) && @annotation(transactional)")
+    public Object mark(ProceedingJoinPoint joinPoint, Transactional transactional) throws Throwable {
+        if (!transactional.readOnly() || isActive()) {
+            return joinPoint.proceed();
+        }
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+}
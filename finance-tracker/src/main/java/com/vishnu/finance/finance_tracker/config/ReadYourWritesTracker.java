@@ -0,0 +1,61 @@
+package com.vishnu.finance.finance_tracker.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vishnu.finance.finance_tracker.security.AuthenticatedUser;
+import com.vishnu.finance.finance_tracker.service.BudgetChangedEvent;
+import com.vishnu.finance.finance_tracker.service.LedgerChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Remembers which users wrote within the last {@code window}, so their own
+ * read-only transactions can be kept on the primary until the replica has
+ * caught up. A zero window turns the feature off. Writers are recorded
+ * before {@code DataVersionService} moves the user's ETag version, so a read
+ * that sees the new version is already routed to the primary.
+ */
+public class ReadYourWritesTracker {
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window, long maxUsers) {
+        this.recentWriters = window.isZero() ? null : Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    // True when the user bound to this thread has a write inside the window
+    public boolean currentUserWroteRecently() {
+        if (recentWriters == null) {
+            return false;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null
+                && authentication.getPrincipal() instanceof AuthenticatedUser user
+                && recentWriters.getIfPresent(user.id()) != null;
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLedgerChanged(LedgerChangedEvent event) {
+        record(event.userId());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBudgetChanged(BudgetChangedEvent event) {
+        record(event.userId());
+    }
+
+    private void record(Long userId) {
+        if (recentWriters != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+}
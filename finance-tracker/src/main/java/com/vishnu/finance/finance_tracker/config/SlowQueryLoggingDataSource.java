@@ -0,0 +1,106 @@
+package com.vishnu.finance.finance_tracker.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Counts and times every statement executed through the pool. Each execution
+ * is added to the calling thread's {@link QueryCounter}. Statements slower than
+ * the threshold are counted in {@code app.sql.slow.queries}, and a sample of
+ * them is logged with their SQL so a slow database cannot flood the log.
+ */
+@Slf4j
+public class SlowQueryLoggingDataSource extends DelegatingDataSource {
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private volatile Counter slowQueries;
+
+    public SlowQueryLoggingDataSource(DataSource target, Duration threshold, double sampleRate,
+                                      ObjectProvider<MeterRegistry> meterRegistry) {
+        super(target);
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement
+                            && (method.getName().startsWith("prepare") || method.getName().equals("createStatement"))) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                        return wrap(statement, method.getReturnType(), sql);
+                    }
+                    return result;
+                });
+    }
+
+    private Object wrap(Statement statement, Class<?> type, String preparedSql) {
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (!method.getName().startsWith("execute")) {
+                        return invoke(statement, method, args);
+                    }
+                    QueryCounter.increment();
+                    long start = System.nanoTime();
+                    try {
+                        return invoke(statement, method, args);
+                    } finally {
+                        long elapsed = System.nanoTime() - start;
+                        if (elapsed >= thresholdNanos) {
+                            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                            recordSlow(sql, elapsed);
+                        }
+                    }
+                });
+    }
+
+    private void recordSlow(String sql, long elapsedNanos) {
+        Counter counter = slowQueries;
+        if (counter == null) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry != null) {
+                counter = slowQueries = Counter.builder("app.sql.slow.queries").register(registry);
+            }
+        }
+        if (counter != null) {
+            counter.increment();
+        }
+        if (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.warn("Slow query ({} ms): {}", elapsedNanos / 1_000_000, sql);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+}
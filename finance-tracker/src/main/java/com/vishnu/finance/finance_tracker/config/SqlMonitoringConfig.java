@@ -0,0 +1,33 @@
+package com.vishnu.finance.finance_tracker.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+public class SqlMonitoringConfig {
+
+    // Static so the post-processor exists before the DataSource bean is created
+    @Bean
+    static BeanPostProcessor slowQueryLoggingPostProcessor(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        Duration threshold = environment.getProperty("app.sql.slow-query.threshold", Duration.class, Duration.ofMillis(200));
+        double sampleRate = environment.getProperty("app.sql.slow-query.sample-rate", Double.class, 1.0);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Only physical pools are wrapped; delegating (routing) datasources reach them anyway
+                if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+                    return new SlowQueryLoggingDataSource(dataSource, threshold, sampleRate, meterRegistry);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package com.vishnu.finance.finance_tracker.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spring Boot silently keeps platform threads when virtual threads are
+ * requested on a runtime older than Java 21. Say so at startup instead.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsCheck implements ApplicationRunner {
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int feature = Runtime.version().feature();
+        if (feature < 21) {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; requests run on platform threads", feature);
+        } else {
+            log.info("Requests run on virtual threads");
+        }
+    }
+}
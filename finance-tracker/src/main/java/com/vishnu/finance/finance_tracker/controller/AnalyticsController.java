@@ -1,28 +1,92 @@
 package com.vishnu.finance.finance_tracker.controller;
 
+import com.vishnu.finance.finance_tracker.dto.BalanceCurveDTO;
+import com.vishnu.finance.finance_tracker.dto.BalanceDTO;
 import com.vishnu.finance.finance_tracker.dto.DashboardDTO;
+import com.vishnu.finance.finance_tracker.dto.SeriesDTO;
+import com.vishnu.finance.finance_tracker.service.AnalyticsService;
+import com.vishnu.finance.finance_tracker.service.BalanceService;
+import com.vishnu.finance.finance_tracker.service.DataVersionService;
 import com.vishnu.finance.finance_tracker.service.DashboardService;
-import com.vishnu.finance.finance_tracker.repository.UserRepository;
+import com.vishnu.finance.finance_tracker.security.CurrentUserId;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
 
 @RestController
-@RequestMapping("/api/v1/dashboard")
+@RequestMapping("/api/v1")
 @RequiredArgsConstructor
 public class AnalyticsController {
     private final DashboardService dashboardService;
-    private final UserRepository userRepository;
+    private final AnalyticsService analyticsService;
+    private final BalanceService balanceService;
+    private final DataVersionService dataVersionService;
+
+    @GetMapping("/dashboard")
+    public ResponseEntity<DashboardDTO> getDashboard(@CurrentUserId Long userId, WebRequest request) {
+        // The twelve-month window moves with the calendar, not only with writes
+        String etag = dataVersionService.etag(userId) + "-" + YearMonth.now();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(dashboardService.getDashboard(userId));
+    }
+
+    @GetMapping("/analytics/series")
+    public ResponseEntity<SeriesDTO> getSeries(
+            @CurrentUserId Long userId,
+            @RequestParam(defaultValue = "month") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) List<Long> categoryIds,
+            WebRequest request) {
+        // Without an explicit range the series ends today
+        String etag = dataVersionService.etag(userId) + "-" + LocalDate.now();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(analyticsService.getSeries(userId, granularity, from, to, type, categoryIds));
+    }
+
+    @GetMapping("/balance")
+    public ResponseEntity<BalanceDTO> getBalance(
+            @CurrentUserId Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return ResponseEntity.ok(balanceService.getBalance(userId, at));
+    }
 
-    @GetMapping
-    public ResponseEntity<DashboardDTO> getDashboard(@AuthenticationPrincipal UserDetails userDetails) {
-        Long userId = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"))
-                .getId();
-        return ResponseEntity.ok(dashboardService.getDashboard(userId));
+    @GetMapping("/balance/curve")
+    public ResponseEntity<BalanceCurveDTO> getBalanceCurve(
+            @CurrentUserId Long userId,
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest request) {
+        String etag = dataVersionService.etag(userId) + "-" + LocalDate.now();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(balanceService.getCurve(userId, granularity, from, to));
     }
 }
@@ -56,9 +56,9 @@ public class AuthController {
                     new UsernamePasswordAuthenticationToken(username, password)
             );
             SecurityContextHolder.getContext().setAuthentication(auth);
-            String token = jwtUtil.generateToken(username);
-            
             User user = userRepository.findByUsername(username).orElseThrow();
+            String token = jwtUtil.generateToken(user.getId(), user.getUsername());
+
             UserDTO userDTO = new UserDTO(user.getId(), user.getUsername(), user.getEmail());
             AuthResponse response = new AuthResponse(token, userDTO);
             
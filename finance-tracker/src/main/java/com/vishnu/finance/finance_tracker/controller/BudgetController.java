@@ -1,13 +1,14 @@
 package com.vishnu.finance.finance_tracker.controller;
 
 import com.vishnu.finance.finance_tracker.dto.BudgetDTO;
+import com.vishnu.finance.finance_tracker.service.DataVersionService;
 import com.vishnu.finance.finance_tracker.service.BudgetService;
-import com.vishnu.finance.finance_tracker.repository.UserRepository;
+import com.vishnu.finance.finance_tracker.security.CurrentUserId;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.YearMonth;
 import java.util.List;
@@ -17,56 +18,48 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BudgetController {
     private final BudgetService budgetService;
-    private final UserRepository userRepository;
+    private final DataVersionService dataVersionService;
 
     @GetMapping
-    public ResponseEntity<List<BudgetDTO>> getBudgets(@AuthenticationPrincipal UserDetails userDetails) {
-        Long userId = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"))
-                .getId();
-        return ResponseEntity.ok(budgetService.getUserBudgets(userId));
+    public ResponseEntity<List<BudgetDTO>> getBudgets(@CurrentUserId Long userId, WebRequest request) {
+        String etag = dataVersionService.etag(userId);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(budgetService.getUserBudgets(userId));
     }
 
     @GetMapping("/month/{month}")
     public ResponseEntity<List<BudgetDTO>> getBudgetsByMonth(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @PathVariable String month) {
-        Long userId = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"))
-                .getId();
         YearMonth yearMonth = YearMonth.parse(month);
         return ResponseEntity.ok(budgetService.getBudgetsByMonth(userId, yearMonth));
     }
 
     @PostMapping
     public ResponseEntity<BudgetDTO> createBudget(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @RequestBody BudgetDTO dto) {
-        Long userId = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"))
-                .getId();
         BudgetDTO created = budgetService.createBudget(userId, dto);
         return ResponseEntity.status(201).body(created);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<BudgetDTO> updateBudget(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @PathVariable Long id,
             @RequestBody BudgetDTO dto) {
-        Long userId = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"))
-                .getId();
         return ResponseEntity.ok(budgetService.updateBudget(userId, id, dto));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteBudget(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @PathVariable Long id) {
-        Long userId = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"))
-                .getId();
         budgetService.deleteBudget(userId, id);
         return ResponseEntity.noContent().build();
     }
@@ -1,13 +1,14 @@
 package com.vishnu.finance.finance_tracker.controller;
 
 import com.vishnu.finance.finance_tracker.dto.CategoryDTO;
+import com.vishnu.finance.finance_tracker.service.DataVersionService;
 import com.vishnu.finance.finance_tracker.service.CategoryService;
-import com.vishnu.finance.finance_tracker.repository.UserRepository;
+import com.vishnu.finance.finance_tracker.security.CurrentUserId;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -16,65 +17,54 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CategoryController {
     private final CategoryService categoryService;
-    private final UserRepository userRepository;
+    private final DataVersionService dataVersionService;
 
     @GetMapping
-    public ResponseEntity<List<CategoryDTO>> getCategories(@AuthenticationPrincipal UserDetails userDetails) {
-        Long userId = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"))
-                .getId();
-        return ResponseEntity.ok(categoryService.getUserCategories(userId));
+    public ResponseEntity<List<CategoryDTO>> getCategories(@CurrentUserId Long userId, WebRequest request) {
+        String etag = dataVersionService.etag(userId);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(categoryService.getUserCategories(userId));
     }
 
     @GetMapping("/type/{type}")
     public ResponseEntity<List<CategoryDTO>> getCategoriesByType(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @PathVariable String type) {
-        Long userId = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"))
-                .getId();
         return ResponseEntity.ok(categoryService.getCategoriesByType(userId, type));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<CategoryDTO> getCategory(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @PathVariable Long id) {
-        Long userId = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"))
-                .getId();
         return ResponseEntity.ok(categoryService.getCategory(userId, id));
     }
 
     @PostMapping
     public ResponseEntity<CategoryDTO> createCategory(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @RequestBody CategoryDTO dto) {
-        Long userId = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"))
-                .getId();
         CategoryDTO created = categoryService.createCategory(userId, dto);
         return ResponseEntity.status(201).body(created);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<CategoryDTO> updateCategory(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @PathVariable Long id,
             @RequestBody CategoryDTO dto) {
-        Long userId = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"))
-                .getId();
         return ResponseEntity.ok(categoryService.updateCategory(userId, id, dto));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteCategory(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @PathVariable Long id) {
-        Long userId = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"))
-                .getId();
         categoryService.deleteCategory(userId, id);
         return ResponseEntity.noContent().build();
     }
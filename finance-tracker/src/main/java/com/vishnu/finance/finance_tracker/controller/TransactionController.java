@@ -1,14 +1,25 @@
 package com.vishnu.finance.finance_tracker.controller;
 
+import com.vishnu.finance.finance_tracker.dto.ImportResultDTO;
 import com.vishnu.finance.finance_tracker.dto.TransactionDTO;
+import com.vishnu.finance.finance_tracker.dto.TransactionFilterDTO;
+import com.vishnu.finance.finance_tracker.dto.TransactionPageDTO;
+import com.vishnu.finance.finance_tracker.service.DataVersionService;
 import com.vishnu.finance.finance_tracker.service.TransactionService;
-import com.vishnu.finance.finance_tracker.repository.UserRepository;
+import com.vishnu.finance.finance_tracker.security.CurrentUserId;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -18,76 +29,103 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class TransactionController {
     private final TransactionService transactionService;
-    private final UserRepository userRepository;
+    private final DataVersionService dataVersionService;
 
     @GetMapping
-    public ResponseEntity<List<TransactionDTO>> listTransactions(@AuthenticationPrincipal UserDetails userDetails) {
-        Long userId = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"))
-                .getId();
-        return ResponseEntity.ok(transactionService.getUserTransactions(userId));
+    public ResponseEntity<List<TransactionDTO>> listTransactions(@CurrentUserId Long userId, WebRequest request) {
+        String etag = dataVersionService.etag(userId);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(transactionService.getUserTransactions(userId));
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<TransactionPageDTO> listTransactionPage(
+            @CurrentUserId Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TransactionService.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        return ResponseEntity.ok(transactionService.getTransactionPage(userId, cursor, size, start, end));
+    }
+
+    @GetMapping("/query")
+    public ResponseEntity<TransactionPageDTO> queryTransactions(
+            @CurrentUserId Long userId,
+            @ModelAttribute TransactionFilterDTO filter) {
+        return ResponseEntity.ok(transactionService.queryTransactions(userId, filter));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<TransactionDTO>> searchNotes(
+            @CurrentUserId Long userId,
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "" + TransactionService.DEFAULT_PAGE_SIZE) int limit) {
+        return ResponseEntity.ok(transactionService.searchNotes(userId, query, limit));
     }
 
     @PostMapping
     public ResponseEntity<TransactionDTO> createTransaction(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @RequestBody TransactionDTO dto) {
-        Long userId = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"))
-                .getId();
         TransactionDTO created = transactionService.createTransaction(userId, dto);
         return ResponseEntity.status(201).body(created);
     }
 
+    @PostMapping("/import")
+    public ResponseEntity<ImportResultDTO> importTransactions(
+            @CurrentUserId Long userId,
+            @RequestBody List<TransactionDTO> rows) {
+        return ResponseEntity.ok(transactionService.importTransactions(userId, rows));
+    }
+
+    @PostMapping(value = "/import/csv", consumes = "multipart/form-data")
+    public ResponseEntity<ImportResultDTO> importCsv(
+            @CurrentUserId Long userId,
+            @RequestParam("file") MultipartFile file) throws IOException {
+        try (Reader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            return ResponseEntity.ok(transactionService.importCsv(userId, reader));
+        }
+    }
+
     @GetMapping("/type/{type}")
     public ResponseEntity<List<TransactionDTO>> getByType(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @PathVariable String type) {
-        Long userId = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"))
-                .getId();
         return ResponseEntity.ok(transactionService.getTransactionsByType(userId, type));
     }
 
     @GetMapping("/date-range")
     public ResponseEntity<List<TransactionDTO>> getByDateRange(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @RequestParam LocalDateTime start,
             @RequestParam LocalDateTime end) {
-        Long userId = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"))
-                .getId();
         return ResponseEntity.ok(transactionService.getTransactionsByDateRange(userId, start, end));
     }
 
     @GetMapping("/total/{type}")
     public ResponseEntity<Map<String, Object>> getTotalByType(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @PathVariable String type) {
-        Long userId = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"))
-                .getId();
         return ResponseEntity.ok(Map.of("total", transactionService.getTotalByType(userId, type)));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<TransactionDTO> updateTransaction(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @PathVariable Long id,
             @RequestBody TransactionDTO dto) {
-        Long userId = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"))
-                .getId();
         return ResponseEntity.ok(transactionService.updateTransaction(userId, id, dto));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTransaction(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @PathVariable Long id) {
-        Long userId = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"))
-                .getId();
         transactionService.deleteTransaction(userId, id);
         return ResponseEntity.noContent().build();
     }
@@ -0,0 +1,55 @@
+package com.vishnu.finance.finance_tracker.controller;
+
+import com.vishnu.finance.finance_tracker.entity.TransactionType;
+import com.vishnu.finance.finance_tracker.service.TransactionExportService;
+import com.vishnu.finance.finance_tracker.security.CurrentUserId;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/v1/transactions/export")
+@RequiredArgsConstructor
+public class TransactionExportController {
+    private final TransactionExportService transactionExportService;
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @CurrentUserId Long userId,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        // Parsed here so a bad value fails before the response is committed
+        TransactionExportService.Format exportFormat = TransactionExportService.Format.valueOf(format.toUpperCase());
+        TransactionType transactionType = type != null ? TransactionType.valueOf(type.toUpperCase()) : null;
+
+        // Runs after this method returns, on the async request thread
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+                transactionExportService.export(userId, exportFormat, start, end, transactionType, compressed);
+                compressed.finish();
+            } else {
+                transactionExportService.export(userId, exportFormat, start, end, transactionType, out);
+            }
+        };
+
+        String filename = "transactions." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,20 @@
+package com.vishnu.finance.finance_tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceCurveDTO {
+    private String granularity;
+    private LocalDate from;
+    private LocalDate to;
+    // Balance before the first bucket
+    private BigDecimal openingBalance;
+    private List<BalancePointDTO> points;
+}
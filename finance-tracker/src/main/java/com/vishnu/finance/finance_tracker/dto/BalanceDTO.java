@@ -0,0 +1,16 @@
+package com.vishnu.finance.finance_tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceDTO {
+    // Transactions dated before this instant are counted
+    private LocalDateTime at;
+    private BigDecimal balance;
+}
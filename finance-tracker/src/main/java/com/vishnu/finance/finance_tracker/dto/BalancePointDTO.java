@@ -0,0 +1,16 @@
+package com.vishnu.finance.finance_tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalancePointDTO {
+    private LocalDate start;
+    // Balance after the bucket's last day
+    private BigDecimal balance;
+}
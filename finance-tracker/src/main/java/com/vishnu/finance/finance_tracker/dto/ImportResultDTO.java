@@ -0,0 +1,15 @@
+package com.vishnu.finance.finance_tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResultDTO {
+    private int imported;
+    private int failed;
+    private List<ImportErrorDTO> errors;
+}
@@ -0,0 +1,18 @@
+package com.vishnu.finance.finance_tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeriesBucketDTO {
+    private LocalDate start;
+    private BigDecimal income;
+    private BigDecimal expense;
+    private BigDecimal net;
+    private long transactionCount;
+}
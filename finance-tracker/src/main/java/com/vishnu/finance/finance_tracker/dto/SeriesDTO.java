@@ -0,0 +1,18 @@
+package com.vishnu.finance.finance_tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeriesDTO {
+    private String granularity;
+    // First day of the first bucket and last day of the last one
+    private LocalDate from;
+    private LocalDate to;
+    private List<SeriesBucketDTO> buckets;
+}
@@ -0,0 +1,31 @@
+package com.vishnu.finance.finance_tracker.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Criteria of a transaction query, bound from request parameters. Every
+ * field is optional and the set ones are combined with AND.
+ */
+@Data
+@NoArgsConstructor
+public class TransactionFilterDTO {
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime start;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime end;
+    private List<String> types;
+    private List<Long> categoryIds;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    private String note;
+    // "date" or "amount", optionally followed by ",asc" or ",desc"
+    private String sort;
+    private String cursor;
+    private Integer size;
+}
@@ -0,0 +1,35 @@
+package com.vishnu.finance.finance_tracker.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * A user's balance, income less expense, over every transaction dated up to
+ * the end of {@code month}. Maintained by {@code BalanceService} in the same
+ * transaction as the write to {@code transactions}.
+ */
+@Entity
+@Table(name = "balance_checkpoint",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "period"}))
+@Data
+@NoArgsConstructor
+public class BalanceCheckpoint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Convert(converter = YearMonthConverter.class)
+    @Column(name = "period", nullable = false, length = 7)
+    private YearMonth month;
+
+    @Column(nullable = false)
+    private BigDecimal balance;
+}
@@ -4,11 +4,11 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import java.util.ArrayList;
-import java.util.List;
 
 @Entity
-@Table(name = "categories")
+@Table(name = "categories", indexes = {
+        @Index(name = "idx_categories_user_type", columnList = "user_id, type")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -27,10 +27,8 @@ public class Category {
     @Column(nullable = false)
     private TransactionType type; // INCOME or EXPENSE
 
-    @ManyToOne
+    // Transactions and budgets are removed with bulk deletes in CategoryService, not by cascade
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
-
-    @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, orphanRemoval = true)
-    private List<Transaction> transactions = new ArrayList<>();
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.vishnu.finance.finance_tracker.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Running sum and count of a user's transactions per category, type and month.
+ * Maintained by {@code MonthlySummaryService} in the same transaction as the
+ * write to {@code transactions}.
+ */
+@Entity
+@Table(name = "monthly_summary",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "category_id", "type", "period"}))
+@Data
+@NoArgsConstructor
+public class MonthlySummary {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    @Convert(converter = YearMonthConverter.class)
+    @Column(name = "period", nullable = false, length = 7)
+    private YearMonth month;
+
+    @Column(nullable = false)
+    private BigDecimal totalAmount;
+
+    @Column(nullable = false)
+    private long transactionCount;
+}
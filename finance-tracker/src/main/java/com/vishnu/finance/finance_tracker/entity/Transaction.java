@@ -11,21 +11,31 @@ import java.time.LocalDateTime;
 
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_user_date", columnList = "user_id, date"),
+        @Index(name = "idx_transactions_user_type_date", columnList = "user_id, type, date"),
+        @Index(name = "idx_transactions_user_category_date", columnList = "user_id, category_id, date"),
+        @Index(name = "idx_transactions_user_amount", columnList = "user_id, amount")
+})
+// Associations load lazily; paths that render the category name fetch it with this graph
+@NamedEntityGraph(name = "Transaction.category", attributeNodes = @NamedAttributeNode("category"))
 @Data
 @NoArgsConstructor
 public class Transaction {
+    // Table-backed pooled ids: Hibernate cannot batch inserts that rely on IDENTITY
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "transaction_ids")
+    @TableGenerator(name = "transaction_ids", table = "id_generators", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "transactions", allocationSize = 50)
     private Long id;
 
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
 
@@ -6,10 +6,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 
-import java.util.ArrayList;
-import java.util.List;
-
-
 @Entity
 @Table(name = "users")
 @Data
@@ -30,8 +26,4 @@ public class User {
 
     @Column(nullable = false)
     private String password;
-
-
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
-    private List<Transaction> transactions = new ArrayList<>();
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.vishnu.finance.finance_tracker.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.time.YearMonth;
+
+/**
+ * Stores a {@link YearMonth} as its ISO "yyyy-MM" text so that the column
+ * sorts and range-compares in calendar order.
+ */
+@Converter
+public class YearMonthConverter implements AttributeConverter<YearMonth, String> {
+
+    @Override
+    public String convertToDatabaseColumn(YearMonth month) {
+        return month != null ? month.toString() : null;
+    }
+
+    @Override
+    public YearMonth convertToEntityAttribute(String value) {
+        return value != null ? YearMonth.parse(value) : null;
+    }
+}
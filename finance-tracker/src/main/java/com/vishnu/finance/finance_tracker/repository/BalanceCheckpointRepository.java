@@ -0,0 +1,50 @@
+package com.vishnu.finance.finance_tracker.repository;
+
+import com.vishnu.finance.finance_tracker.entity.BalanceCheckpoint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+// Every query ranges over the (user_id, period) unique index
+@Repository
+public interface BalanceCheckpointRepository extends JpaRepository<BalanceCheckpoint, Long> {
+    // Newest first; pass Limit.of(1) for the checkpoint closing the month before
+    @Query("SELECT c.balance FROM BalanceCheckpoint c WHERE c.user.id = :userId AND c.month < :month ORDER BY c.month DESC")
+    List<BigDecimal> findBalancesBefore(@Param("userId") Long userId, @Param("month") YearMonth month, Limit limit);
+
+    @Query("SELECT COUNT(c) > 0 FROM BalanceCheckpoint c WHERE c.user.id = :userId AND c.month = :month")
+    boolean existsAt(@Param("userId") Long userId, @Param("month") YearMonth month);
+
+    // Taken before any change to a user's checkpoints, so concurrent writers apply in turn
+    @Query(value = "SELECT u.id FROM users u WHERE u.id = :userId FOR UPDATE", nativeQuery = true)
+    Long lockUser(@Param("userId") Long userId);
+
+    // The newest balance before the period, read with a lock so it reflects every committed shift
+    @Query(value = "SELECT c.balance FROM balance_checkpoint c WHERE c.user_id = :userId AND c.period < :period " +
+                   "ORDER BY c.period DESC LIMIT 1 FOR UPDATE",
+           nativeQuery = true)
+    List<BigDecimal> lockBalanceBefore(@Param("userId") Long userId, @Param("period") String period);
+
+    // A no-op when a concurrent write created the month first
+    @Modifying
+    @Query(value = "INSERT INTO balance_checkpoint (user_id, period, balance) VALUES (:userId, :period, :balance) " +
+                   "ON DUPLICATE KEY UPDATE balance = balance",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("period") String period, @Param("balance") BigDecimal balance);
+
+    // A change dated in a month moves that month's checkpoint and every later one
+    @Modifying
+    @Query("UPDATE BalanceCheckpoint c SET c.balance = c.balance + :delta WHERE c.user.id = :userId AND c.month >= :month")
+    int shiftFrom(@Param("userId") Long userId, @Param("month") YearMonth month, @Param("delta") BigDecimal delta);
+
+    @Modifying
+    @Query("DELETE FROM BalanceCheckpoint c WHERE c.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
@@ -1,17 +1,44 @@
 package com.vishnu.finance.finance_tracker.repository;
 
 import com.vishnu.finance.finance_tracker.entity.Budget;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
-    List<Budget> findByUserId(Long userId);
-    List<Budget> findByUserIdAndMonth(Long userId, YearMonth month);
-    Optional<Budget> findByUserIdAndCategoryIdAndMonth(Long userId, Long categoryId, YearMonth month);
-    List<Budget> findByUserIdAndCategoryId(Long userId, Long categoryId);
+    // List reads select only the columns a BudgetDTO needs, with the category name joined in
+    String SELECT_ROW = "SELECT new com.vishnu.finance.finance_tracker.repository.BudgetRepository$BudgetRow(" +
+            "b.id, b.user.id, c.id, c.name, b.budgetAmount, b.month) FROM Budget b JOIN b.category c ";
+
+    @Query(SELECT_ROW + "WHERE b.user.id = :userId")
+    List<BudgetRow> findByUserId(@Param("userId") Long userId);
+
+    @Query(SELECT_ROW + "WHERE b.user.id = :userId AND b.month = :month")
+    List<BudgetRow> findByUserIdAndMonth(@Param("userId") Long userId, @Param("month") YearMonth month);
+
+    @Query("SELECT b FROM Budget b WHERE b.user.id = :userId AND b.category.id = :categoryId AND b.month = :month")
+    Optional<Budget> findByUserIdAndCategoryIdAndMonth(@Param("userId") Long userId, @Param("categoryId") Long categoryId, @Param("month") YearMonth month);
+
+    @Query("SELECT b FROM Budget b WHERE b.user.id = :userId AND b.category.id = :categoryId")
+    List<Budget> findByUserIdAndCategoryId(@Param("userId") Long userId, @Param("categoryId") Long categoryId);
+
+    @EntityGraph("Budget.category")
+    @Query("SELECT b FROM Budget b WHERE b.id = :id")
+    Optional<Budget> findWithCategoryById(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM Budget b WHERE b.user.id = :userId AND b.category.id = :categoryId")
+    int deleteByUserIdAndCategoryId(@Param("userId") Long userId, @Param("categoryId") Long categoryId);
+
+    record BudgetRow(Long id, Long userId, Long categoryId, String categoryName, BigDecimal budgetAmount, YearMonth month) {
+    }
 }
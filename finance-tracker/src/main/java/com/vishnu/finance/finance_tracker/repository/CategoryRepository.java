@@ -1,8 +1,12 @@
 package com.vishnu.finance.finance_tracker.repository;
 
+import com.vishnu.finance.finance_tracker.dto.CategoryDTO;
 import com.vishnu.finance.finance_tracker.entity.Category;
 import com.vishnu.finance.finance_tracker.entity.TransactionType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,7 +14,23 @@ import java.util.Optional;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
-    List<Category> findByUserId(Long userId);
-    List<Category> findByUserIdAndType(Long userId, TransactionType type);
-    Optional<Category> findByIdAndUserId(Long id, Long userId);
+    // List reads select straight into DTOs instead of hydrating each Category and its User
+    String SELECT_DTO = "SELECT new com.vishnu.finance.finance_tracker.dto.CategoryDTO(" +
+            "c.id, c.name, c.description, CAST(c.type AS String)) FROM Category c ";
+
+    @Query("SELECT c FROM Category c WHERE c.user.id = :userId")
+    List<Category> findByUserId(@Param("userId") Long userId);
+
+    @Query(SELECT_DTO + "WHERE c.user.id = :userId")
+    List<CategoryDTO> findDtosByUserId(@Param("userId") Long userId);
+
+    @Query(SELECT_DTO + "WHERE c.user.id = :userId AND c.type = :type")
+    List<CategoryDTO> findByUserIdAndType(@Param("userId") Long userId, @Param("type") TransactionType type);
+
+    @Query("SELECT c FROM Category c WHERE c.id = :id AND c.user.id = :userId")
+    Optional<Category> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Category c WHERE c.id = :id AND c.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
 }
\ No newline at end of file
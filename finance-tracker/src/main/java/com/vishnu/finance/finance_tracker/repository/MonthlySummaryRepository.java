@@ -0,0 +1,83 @@
+package com.vishnu.finance.finance_tracker.repository;
+
+import com.vishnu.finance.finance_tracker.entity.MonthlySummary;
+import com.vishnu.finance.finance_tracker.entity.TransactionType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MonthlySummaryRepository extends JpaRepository<MonthlySummary, Long> {
+    List<MonthlySummary> findByUserId(Long userId);
+
+    // The reads below add up at most one row per category, type and month instead of every transaction.
+    // Rows decremented to a zero count are left in place, so the sums skip them as if absent.
+
+    @Query("SELECT s.type AS type, SUM(s.totalAmount) AS total FROM MonthlySummary s WHERE s.user.id = :userId " +
+           "GROUP BY s.type HAVING SUM(s.transactionCount) > 0")
+    List<TypeTotal> sumByUserGroupedByType(@Param("userId") Long userId);
+
+    @Query("SELECT s.category.name AS categoryName, SUM(s.totalAmount) AS total FROM MonthlySummary s " +
+           "WHERE s.user.id = :userId AND s.type = :type GROUP BY s.category.name HAVING SUM(s.transactionCount) > 0")
+    List<CategoryTotal> sumByUserAndTypeGroupedByCategory(@Param("userId") Long userId, @Param("type") TransactionType type);
+
+    // Inclusive month range; periods are yyyy-MM text, so they compare in calendar order
+    @Query("SELECT s.month AS month, SUM(s.totalAmount) AS total FROM MonthlySummary s " +
+           "WHERE s.user.id = :userId AND s.type = :type AND s.month >= :first AND s.month <= :last " +
+           "GROUP BY s.month HAVING SUM(s.transactionCount) > 0")
+    List<MonthTotal> sumByUserAndTypeGroupedByMonth(@Param("userId") Long userId, @Param("type") TransactionType type,
+                                                    @Param("first") YearMonth first, @Param("last") YearMonth last);
+
+    @Query("SELECT s.category.id AS categoryId, s.month AS month, s.totalAmount AS total FROM MonthlySummary s " +
+           "WHERE s.user.id = :userId AND s.type = :type AND s.category.id IN :categoryIds " +
+           "AND s.month >= :first AND s.month <= :last")
+    List<CategoryMonthTotal> findByUserAndTypeAndCategories(@Param("userId") Long userId, @Param("type") TransactionType type,
+                                                            @Param("categoryIds") Collection<Long> categoryIds,
+                                                            @Param("first") YearMonth first, @Param("last") YearMonth last);
+
+    // Adds to the row for the key, creating it if absent, in one statement so concurrent first writes cannot both insert
+    @Modifying
+    @Query(value = "INSERT INTO monthly_summary (user_id, category_id, type, period, total_amount, transaction_count) " +
+                   "VALUES (:userId, :categoryId, :type, :period, :amount, :count) " +
+                   "ON DUPLICATE KEY UPDATE total_amount = total_amount + VALUES(total_amount), " +
+                   "transaction_count = transaction_count + VALUES(transaction_count)",
+           nativeQuery = true)
+    int applyDelta(@Param("userId") Long userId, @Param("categoryId") Long categoryId, @Param("type") String type,
+                   @Param("period") String period, @Param("amount") BigDecimal amount, @Param("count") long count);
+
+    @Modifying
+    @Query("DELETE FROM MonthlySummary s WHERE s.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM MonthlySummary s WHERE s.category.id = :categoryId")
+    int deleteByCategoryId(@Param("categoryId") Long categoryId);
+
+    interface TypeTotal {
+        TransactionType getType();
+        BigDecimal getTotal();
+    }
+
+    interface CategoryTotal {
+        String getCategoryName();
+        BigDecimal getTotal();
+    }
+
+    interface MonthTotal {
+        YearMonth getMonth();
+        BigDecimal getTotal();
+    }
+
+    interface CategoryMonthTotal {
+        Long getCategoryId();
+        YearMonth getMonth();
+        BigDecimal getTotal();
+    }
+}
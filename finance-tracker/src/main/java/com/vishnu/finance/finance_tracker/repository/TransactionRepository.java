@@ -1,26 +1,201 @@
 package com.vishnu.finance.finance_tracker.repository;
 
+import com.vishnu.finance.finance_tracker.dto.TransactionDTO;
 import com.vishnu.finance.finance_tracker.entity.Transaction;
 import com.vishnu.finance.finance_tracker.entity.TransactionType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-    List<Transaction> findByUserIdAndDateBetween(Long userId, LocalDateTime start, LocalDateTime end);
-    List<Transaction> findByUserId(Long userId);
-    List<Transaction> findByUserIdAndType(Long userId, TransactionType type);
-    List<Transaction> findByUserIdAndCategoryId(Long userId, Long categoryId);
-    
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
+    // Explicit queries filter on the user_id column itself; the derived equivalents
+    // join users first and leave the database scanning transactions.
+    // The list reads select straight into DTOs: only the DTO columns are read, the
+    // category name comes from the join, and no User or Category is hydrated.
+    String SELECT_DTO = "SELECT new com.vishnu.finance.finance_tracker.dto.TransactionDTO(" +
+            "t.id, t.user.id, c.id, c.name, t.amount, CAST(t.type AS String), t.note, t.date) " +
+            "FROM Transaction t LEFT JOIN t.category c ";
+
+    // Income counts up, expense down
+    String NET_AMOUNT =
+            "CASE WHEN t.type = com.vishnu.finance.finance_tracker.entity.TransactionType.INCOME THEN t.amount " +
+            "WHEN t.type = com.vishnu.finance.finance_tracker.entity.TransactionType.EXPENSE THEN -t.amount ELSE 0 END";
+
+    // Series queries are cancelled past this, in seconds, rather than holding a connection
+    String SERIES_TIMEOUT_SECONDS = "5";
+
+    String SERIES_SUMS =
+            "SUM(CASE WHEN t.type = com.vishnu.finance.finance_tracker.entity.TransactionType.INCOME THEN t.amount ELSE 0 END) AS income, " +
+            "SUM(CASE WHEN t.type = com.vishnu.finance.finance_tracker.entity.TransactionType.EXPENSE THEN t.amount ELSE 0 END) AS expense, " +
+            "COUNT(t) AS transactionCount FROM Transaction t " +
+            "WHERE t.user.id = :userId AND t.date >= :start AND t.date < :end AND (:type IS NULL OR t.type = :type) " +
+            "AND (:allCategories = true OR t.category.id IN :categoryIds) ";
+
+    @Query(SELECT_DTO + "WHERE t.user.id = :userId AND t.date BETWEEN :start AND :end")
+    List<TransactionDTO> findByUserIdAndDateBetween(@Param("userId") Long userId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query(SELECT_DTO + "WHERE t.user.id = :userId")
+    List<TransactionDTO> findByUserId(@Param("userId") Long userId);
+
+    @Query(SELECT_DTO + "WHERE t.user.id = :userId AND t.type = :type")
+    List<TransactionDTO> findByUserIdAndType(@Param("userId") Long userId, @Param("type") TransactionType type);
+
+    @Query(SELECT_DTO + "WHERE t.user.id = :userId AND t.id IN :ids ORDER BY t.id DESC")
+    List<TransactionDTO> findByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    @EntityGraph("Transaction.category")
+    @Query("SELECT t FROM Transaction t WHERE t.id = :id")
+    Optional<Transaction> findWithCategoryById(@Param("id") Long id);
+
+    // Keyset page ordered newest first: rows strictly before (beforeDate, beforeId), not earlier than start
+    @Query(SELECT_DTO + "WHERE t.user.id = :userId AND t.date >= :start " +
+           "AND (t.date < :beforeDate OR (t.date = :beforeDate AND t.id < :beforeId)) " +
+           "ORDER BY t.date DESC, t.id DESC")
+    List<TransactionDTO> findPageBefore(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+                                        @Param("beforeDate") LocalDateTime beforeDate, @Param("beforeId") Long beforeId, Limit limit);
+
+    // Forward-only read of projected rows for export; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.id AS id, t.date AS date, t.type AS type, c.name AS categoryName, t.amount AS amount, t.note AS note " +
+           "FROM Transaction t LEFT JOIN t.category c " +
+           "WHERE t.user.id = :userId AND t.date >= :start AND t.date <= :end AND (:type IS NULL OR t.type = :type) " +
+           "ORDER BY t.date, t.id")
+    Stream<ExportRow> streamForExport(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+                                      @Param("end") LocalDateTime end, @Param("type") TransactionType type);
+
+    // Set-based delete; user_id keeps it on the (user_id, category_id, date) index
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.user.id = :userId AND t.category.id = :categoryId")
+    int deleteByUserIdAndCategoryId(@Param("userId") Long userId, @Param("categoryId") Long categoryId);
+
+    // Columns of the in-memory ledger, oldest first; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.id AS id, t.date AS date, t.amount AS amount, t.category.id AS categoryId, t.type AS type " +
+           "FROM Transaction t WHERE t.user.id = :userId ORDER BY t.date, t.id")
+    Stream<LedgerRow> streamLedger(@Param("userId") Long userId);
+
+    // Notes for the search index, in id order; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.id AS id, t.note AS note FROM Transaction t WHERE t.user.id = :userId AND t.note IS NOT NULL ORDER BY t.id")
+    Stream<NoteRow> streamNotes(@Param("userId") Long userId);
+
+    // What a note index snapshot is checked against: rows, the newest id, and note lengths weighted by id
+    @Query("SELECT COUNT(t) AS rowCount, COALESCE(MAX(t.id), 0) AS maxId, " +
+           "COALESCE(SUM(MOD(t.id, 65521) * LENGTH(t.note)), 0) AS noteFingerprint " +
+           "FROM Transaction t WHERE t.user.id = :userId")
+    NoteStats noteStats(@Param("userId") Long userId);
+
     @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.user.id = :userId AND t.type = :type")
     BigDecimal sumByUserAndType(@Param("userId") Long userId, @Param("type") TransactionType type);
-    
-    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.user.id = :userId AND t.category.id = :categoryId AND t.type = :type AND MONTH(t.date) = :month AND YEAR(t.date) = :year")
-    BigDecimal sumByUserCategoryAndMonth(@Param("userId") Long userId, @Param("categoryId") Long categoryId, @Param("type") TransactionType type, @Param("month") int month, @Param("year") int year);
-}
\ No newline at end of file
+
+    @Query("SELECT COUNT(t) FROM Transaction t WHERE t.user.id = :userId")
+    long countByUserId(@Param("userId") Long userId);
+
+    // Analytics series: income, expense and count per calendar day, or per month, in [start, end).
+    // The type and category filters are optional; pass allCategories = true to ignore categoryIds.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_TIMEOUT, value = SERIES_TIMEOUT_SECONDS))
+    @Query("SELECT YEAR(t.date) AS periodYear, MONTH(t.date) AS periodMonth, DAY(t.date) AS periodDay, " + SERIES_SUMS +
+           "GROUP BY YEAR(t.date), MONTH(t.date), DAY(t.date)")
+    List<SeriesRow> sumSeriesByDay(@Param("userId") Long userId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+                                   @Param("type") TransactionType type, @Param("allCategories") boolean allCategories,
+                                   @Param("categoryIds") Collection<Long> categoryIds);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_TIMEOUT, value = SERIES_TIMEOUT_SECONDS))
+    @Query("SELECT YEAR(t.date) AS periodYear, MONTH(t.date) AS periodMonth, 1 AS periodDay, " + SERIES_SUMS +
+           "GROUP BY YEAR(t.date), MONTH(t.date)")
+    List<SeriesRow> sumSeriesByMonth(@Param("userId") Long userId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+                                     @Param("type") TransactionType type, @Param("allCategories") boolean allCategories,
+                                     @Param("categoryIds") Collection<Long> categoryIds);
+
+    // Balance lookups keep [start, end) within one month, on the (user_id, date) index
+    @Query("SELECT SUM(" + NET_AMOUNT + ") FROM Transaction t WHERE t.user.id = :userId AND t.date >= :start AND t.date < :end")
+    BigDecimal sumNetBetween(@Param("userId") Long userId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT YEAR(t.date) AS periodYear, MONTH(t.date) AS periodMonth, SUM(" + NET_AMOUNT + ") AS total FROM Transaction t " +
+           "WHERE t.user.id = :userId AND t.date IS NOT NULL " +
+           "GROUP BY YEAR(t.date), MONTH(t.date)")
+    List<MonthTotal> sumNetByUserGroupedByMonth(@Param("userId") Long userId);
+
+    @Query("SELECT t.category.id AS categoryId, t.type AS type, YEAR(t.date) AS periodYear, MONTH(t.date) AS periodMonth, " +
+           "SUM(t.amount) AS total, COUNT(t) AS transactionCount FROM Transaction t " +
+           "WHERE t.user.id = :userId AND t.date IS NOT NULL AND t.type IS NOT NULL AND t.category IS NOT NULL " +
+           "GROUP BY t.category.id, t.type, YEAR(t.date), MONTH(t.date)")
+    List<MonthlyRollup> summarizeByUserGroupedByCategoryTypeAndMonth(@Param("userId") Long userId);
+
+    interface MonthTotal {
+        Integer getPeriodYear();
+        Integer getPeriodMonth();
+        BigDecimal getTotal();
+    }
+
+    interface MonthlyRollup {
+        Long getCategoryId();
+        TransactionType getType();
+        Integer getPeriodYear();
+        Integer getPeriodMonth();
+        BigDecimal getTotal();
+        Long getTransactionCount();
+    }
+
+    interface SeriesRow {
+        Integer getPeriodYear();
+        Integer getPeriodMonth();
+        Integer getPeriodDay();
+        BigDecimal getIncome();
+        BigDecimal getExpense();
+        Long getTransactionCount();
+    }
+
+    interface LedgerRow {
+        Long getId();
+        LocalDateTime getDate();
+        BigDecimal getAmount();
+        Long getCategoryId();
+        TransactionType getType();
+    }
+
+    interface ExportRow {
+        Long getId();
+        LocalDateTime getDate();
+        TransactionType getType();
+        String getCategoryName();
+        BigDecimal getAmount();
+        String getNote();
+    }
+
+    interface NoteRow {
+        Long getId();
+        String getNote();
+    }
+
+    interface NoteStats {
+        Long getRowCount();
+        Long getMaxId();
+        Long getNoteFingerprint();
+    }
+}
@@ -0,0 +1,94 @@
+package com.vishnu.finance.finance_tracker.repository;
+
+import com.vishnu.finance.finance_tracker.entity.Transaction;
+import com.vishnu.finance.finance_tracker.entity.TransactionType;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Filters for {@link TransactionRepository#findBy}. Every query starts from
+ * {@link #forUser}, which keeps it on one of the indexes led by user_id, and
+ * adds only the filters a request sets. Each factory returns null for an
+ * unset value so callers can pass the request through and let
+ * {@link Specification#allOf} skip it.
+ */
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {
+    }
+
+    public static Specification<Transaction> forUser(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    // Inclusive on both ends
+    public static Specification<Transaction> dateBetween(LocalDateTime start, LocalDateTime end) {
+        if (start == null && end == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<LocalDateTime> date = root.get("date");
+            if (start == null) {
+                return cb.lessThanOrEqualTo(date, end);
+            }
+            return end == null ? cb.greaterThanOrEqualTo(date, start) : cb.between(date, start, end);
+        };
+    }
+
+    public static Specification<Transaction> typeIn(Collection<TransactionType> types) {
+        return types == null || types.isEmpty() ? null : (root, query, cb) -> root.get("type").in(types);
+    }
+
+    public static Specification<Transaction> categoryIn(Collection<Long> categoryIds) {
+        return categoryIds == null || categoryIds.isEmpty() ? null
+                : (root, query, cb) -> root.get("category").get("id").in(categoryIds);
+    }
+
+    // Inclusive on both ends
+    public static Specification<Transaction> amountBetween(BigDecimal min, BigDecimal max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<BigDecimal> amount = root.get("amount");
+            if (min == null) {
+                return cb.lessThanOrEqualTo(amount, max);
+            }
+            return max == null ? cb.greaterThanOrEqualTo(amount, min) : cb.between(amount, min, max);
+        };
+    }
+
+    // Case-insensitive substring of the note; checked on the rows the other filters leave
+    public static Specification<Transaction> noteContains(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + text.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("note")), pattern, '\\');
+    }
+
+    /**
+     * Rows strictly after ({@code value}, {@code id}) in the order of
+     * {@code attribute} then id, both ascending or both descending: the seek
+     * condition of a keyset page.
+     */
+    public static <T extends Comparable<? super T>> Specification<Transaction> after(
+            String attribute, boolean ascending, T value, Long id) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<T> key = root.get(attribute);
+            Path<Long> rowId = root.get("id");
+            return ascending
+                    ? cb.or(cb.greaterThan(key, value), cb.and(cb.equal(key, value), cb.greaterThan(rowId, id)))
+                    : cb.or(cb.lessThan(key, value), cb.and(cb.equal(key, value), cb.lessThan(rowId, id)));
+        };
+    }
+}
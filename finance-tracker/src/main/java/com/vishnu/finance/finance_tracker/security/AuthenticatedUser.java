@@ -0,0 +1,15 @@
+package com.vishnu.finance.finance_tracker.security;
+
+import java.security.Principal;
+
+/**
+ * Principal placed in the security context by {@link JwtAuthenticationFilter}.
+ * Carries the user id from the token so controllers need no user lookup.
+ */
+public record AuthenticatedUser(Long id, String username) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -1,12 +1,14 @@
 package com.vishnu.finance.finance_tracker.security;
 
 
-import com.vishnu.finance.finance_tracker.service.CustomUserDetailsService;
-import lombok.RequiredArgsConstructor;
+import com.vishnu.finance.finance_tracker.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -17,38 +19,56 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.List;
 
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
-    private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService userDetailsService;
+    private static final List<GrantedAuthority> AUTHORITIES = AuthorityUtils.createAuthorityList("ROLE_USER");
+
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final UserRepository userRepository;
+    private final Timer authenticationTimer;
+
+
+    public JwtAuthenticationFilter(VerifiedTokenCache verifiedTokenCache, UserRepository userRepository, MeterRegistry meterRegistry) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.userRepository = userRepository;
+        // Covers token verification and principal setup, not the rest of the chain
+        this.authenticationTimer = Timer.builder("app.security.jwt.filter")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        Timer.Sample sample = Timer.start();
         final String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
-        String token = null;
-        String username = null;
+        AuthenticatedUser principal = null;
 
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            if (jwtUtil.validate(token)) {
-                username = jwtUtil.getUsernameFromToken(token);
-            }
+            principal = verifiedTokenCache.verify(authHeader.substring(7));
+        }
+
+        // Older tokens carry only the username; those still cost one lookup
+        if (principal != null && principal.id() == null) {
+            principal = userRepository.findByUsername(principal.username())
+                    .map(user -> new AuthenticatedUser(user.getId(), user.getUsername()))
+                    .orElse(null);
         }
 
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        if (principal != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                    principal, null, AUTHORITIES);
             auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
             SecurityContextHolder.getContext().setAuthentication(auth);
         }
+        sample.stop(authenticationTimer);
 
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+}
@@ -9,6 +9,7 @@ import java.util.Date;
 
 @Component
 public class JwtUtil {
+    static final String USER_ID_CLAIM = "uid";
 
     @Value("${app.jwt.secret:ChangeThisSecretForProd}")
     private String jwtSecret;
@@ -17,11 +18,12 @@ public class JwtUtil {
     private long jwtExpirationMs;
 
 
-    public String generateToken(String username) {
+    public String generateToken(Long userId, String username) {
         Date now = new Date();
         Date exp = new Date(now.getTime() + jwtExpirationMs);
         return Jwts.builder()
             .setSubject(username)
+            .claim(USER_ID_CLAIM, userId)
             .setIssuedAt(now)
             .setExpiration(exp)
             .signWith(SignatureAlgorithm.HS256, jwtSecret)
@@ -29,18 +31,24 @@ public class JwtUtil {
     }
 
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token).getBody();
-        return claims.getSubject();
-    }
-
-
-    public boolean validate(String token) {
+    /**
+     * Checks the signature and expiry and reads the claims in one parse.
+     * Returns null for any token that does not verify. The principal's id is
+     * null for tokens issued before it was added to the claims.
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims;
         try {
-            Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token);
-            return true;
+            claims = Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token).getBody();
         } catch (Exception ex) {
-            return false;
+            return null;
         }
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        AuthenticatedUser principal = new AuthenticatedUser(userId != null ? userId.longValue() : null, claims.getSubject());
+        return new VerifiedToken(principal, claims.getExpiration());
+    }
+
+
+    public record VerifiedToken(AuthenticatedUser principal, Date expiration) {
     }
 }
\ No newline at end of file
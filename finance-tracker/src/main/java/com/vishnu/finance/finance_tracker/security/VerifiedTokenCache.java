@@ -0,0 +1,83 @@
+package com.vishnu.finance.finance_tracker.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Remembers tokens that {@link JwtUtil#verify} has already accepted, so repeat
+ * requests with the same bearer token skip the HMAC check and claims parse.
+ * Entries are keyed by a SHA-256 digest of the token and never outlive its
+ * {@code exp}. Hit, miss and eviction counts are published as the
+ * {@code cache.*} meters tagged {@code cache=jwt.verified}.
+ */
+@Component
+public class VerifiedTokenCache {
+    private final JwtUtil jwtUtil;
+    private final Cache<ByteBuffer, JwtUtil.VerifiedToken> cache;
+
+    @Autowired
+    public VerifiedTokenCache(JwtUtil jwtUtil,
+                              @Value("${app.jwt.cache.max-size:10000}") long maxSize,
+                              ObjectProvider<MeterRegistry> meterRegistry) {
+        this(jwtUtil, maxSize);
+        if (cache != null) {
+            meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "jwt.verified"));
+        }
+    }
+
+    // A max size of 0 turns the cache off
+    public VerifiedTokenCache(JwtUtil jwtUtil, long maxSize) {
+        this.jwtUtil = jwtUtil;
+        this.cache = maxSize > 0
+                ? Caffeine.newBuilder().maximumSize(maxSize).expireAfter(new UntilExpiration()).recordStats().build()
+                : null;
+    }
+
+    public AuthenticatedUser verify(String token) {
+        JwtUtil.VerifiedToken verified = cache != null
+                ? cache.get(digest(token), key -> jwtUtil.verify(token))
+                : jwtUtil.verify(token);
+        return verified != null ? verified.principal() : null;
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    // Tokens without an exp claim are not kept at all
+    private static class UntilExpiration implements Expiry<ByteBuffer, JwtUtil.VerifiedToken> {
+        @Override
+        public long expireAfterCreate(ByteBuffer key, JwtUtil.VerifiedToken value, long currentTime) {
+            if (value.expiration() == null) {
+                return 0;
+            }
+            return Math.max(0, (value.expiration().getTime() - System.currentTimeMillis()) * 1_000_000);
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, JwtUtil.VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, JwtUtil.VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
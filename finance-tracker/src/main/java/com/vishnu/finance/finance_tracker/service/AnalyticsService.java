@@ -0,0 +1,123 @@
+package com.vishnu.finance.finance_tracker.service;
+
+import com.vishnu.finance.finance_tracker.dto.SeriesBucketDTO;
+import com.vishnu.finance.finance_tracker.dto.SeriesDTO;
+import com.vishnu.finance.finance_tracker.entity.TransactionType;
+import com.vishnu.finance.finance_tracker.repository.TransactionRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Income, expense and net per day, week, month or quarter over a date range.
+ * One grouped query sums the range per calendar day (day and week series) or
+ * per month (month and quarter series), and the rows are folded into
+ * contiguous buckets in minor units, so buckets without transactions come
+ * back as zeros. Weeks start on Monday and quarters in January, April, July
+ * and October; the range is widened to whole buckets.
+ */
+@Service
+@Timed(value = "app.service", histogram = true)
+@RequiredArgsConstructor
+public class AnalyticsService {
+    // Three years of days
+    public static final int MAX_BUCKETS = 1100;
+
+    private final TransactionRepository transactionRepository;
+    private final Money money;
+
+    public enum Granularity {
+        DAY, WEEK, MONTH, QUARTER;
+
+        // First day of the bucket holding the date
+        LocalDate bucketStart(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> date.withDayOfMonth(1);
+                case QUARTER -> date.withDayOfMonth(1).withMonth((date.getMonthValue() - 1) / 3 * 3 + 1);
+            };
+        }
+
+        LocalDate next(LocalDate bucketStart) {
+            return switch (this) {
+                case DAY -> bucketStart.plusDays(1);
+                case WEEK -> bucketStart.plusWeeks(1);
+                case MONTH -> bucketStart.plusMonths(1);
+                case QUARTER -> bucketStart.plusMonths(3);
+            };
+        }
+
+        // Position of the date's bucket, counting from the bucket starting on first
+        int index(LocalDate first, LocalDate date) {
+            return switch (this) {
+                case DAY -> (int) ChronoUnit.DAYS.between(first, date);
+                case WEEK -> (int) (ChronoUnit.DAYS.between(first, date) / 7);
+                case MONTH -> (int) ChronoUnit.MONTHS.between(first, date);
+                case QUARTER -> (int) (ChronoUnit.MONTHS.between(first, date) / 3);
+            };
+        }
+
+        boolean groupsByDay() {
+            return this == DAY || this == WEEK;
+        }
+    }
+
+    /**
+     * The series from {@code from} to {@code to}, both inclusive; they default
+     * to the year ending today. {@code type} and {@code categoryIds} narrow the
+     * transactions counted, and are ignored when null or empty.
+     */
+    @Transactional(readOnly = true)
+    public SeriesDTO getSeries(Long userId, String granularity, LocalDate from, LocalDate to,
+                               String type, Collection<Long> categoryIds) {
+        Granularity unit = Granularity.valueOf(granularity.toUpperCase());
+        TransactionType transactionType = type != null ? TransactionType.valueOf(type.toUpperCase()) : null;
+        LocalDate last = to != null ? to : LocalDate.now();
+        LocalDate first = from != null ? from : last.minusYears(1).plusDays(1);
+        if (first.isAfter(last)) {
+            throw new RuntimeException("from must not be after to");
+        }
+
+        LocalDate start = unit.bucketStart(first);
+        LocalDate end = unit.next(unit.bucketStart(last));
+        int buckets = unit.index(start, end);
+        if (buckets > MAX_BUCKETS) {
+            throw new RuntimeException("A series is limited to " + MAX_BUCKETS + " buckets");
+        }
+
+        boolean allCategories = categoryIds == null || categoryIds.isEmpty();
+        List<TransactionRepository.SeriesRow> rows = unit.groupsByDay()
+                ? transactionRepository.sumSeriesByDay(userId, start.atStartOfDay(), end.atStartOfDay(),
+                        transactionType, allCategories, allCategories ? List.of() : categoryIds)
+                : transactionRepository.sumSeriesByMonth(userId, start.atStartOfDay(), end.atStartOfDay(),
+                        transactionType, allCategories, allCategories ? List.of() : categoryIds);
+
+        long[] income = new long[buckets];
+        long[] expense = new long[buckets];
+        long[] counts = new long[buckets];
+        for (TransactionRepository.SeriesRow row : rows) {
+            int i = unit.index(start, LocalDate.of(row.getPeriodYear(), row.getPeriodMonth(), row.getPeriodDay()));
+            income[i] = Money.add(income[i], money.toMinor(row.getIncome()));
+            expense[i] = Money.add(expense[i], money.toMinor(row.getExpense()));
+            counts[i] += row.getTransactionCount();
+        }
+
+        List<SeriesBucketDTO> series = new ArrayList<>(buckets);
+        LocalDate bucket = start;
+        for (int i = 0; i < buckets; i++, bucket = unit.next(bucket)) {
+            series.add(new SeriesBucketDTO(bucket, money.toDecimal(income[i]), money.toDecimal(expense[i]),
+                    money.toDecimal(Money.subtract(income[i], expense[i])), counts[i]));
+        }
+        return new SeriesDTO(unit.name(), start, end.minusDays(1), series);
+    }
+}
@@ -0,0 +1,178 @@
+package com.vishnu.finance.finance_tracker.service;
+
+import com.vishnu.finance.finance_tracker.dto.BalanceCurveDTO;
+import com.vishnu.finance.finance_tracker.dto.BalanceDTO;
+import com.vishnu.finance.finance_tracker.dto.BalancePointDTO;
+import com.vishnu.finance.finance_tracker.dto.SeriesBucketDTO;
+import com.vishnu.finance.finance_tracker.dto.SeriesDTO;
+import com.vishnu.finance.finance_tracker.entity.BalanceCheckpoint;
+import com.vishnu.finance.finance_tracker.entity.Transaction;
+import com.vishnu.finance.finance_tracker.entity.TransactionType;
+import com.vishnu.finance.finance_tracker.repository.BalanceCheckpointRepository;
+import com.vishnu.finance.finance_tracker.repository.TransactionRepository;
+import com.vishnu.finance.finance_tracker.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Running balance, income less expense, of a user's transactions. The
+ * {@code balance_checkpoint} rows hold the balance at the end of each month
+ * with activity, so a point query costs the newest checkpoint before the
+ * month plus one sum from the start of that month.
+ *
+ * <p>Like those of {@link MonthlySummaryService}, the delta methods are called
+ * from inside the transaction that performs the write. A change dated in a
+ * month shifts that month's checkpoint and every later one.
+ */
+@Service
+@Timed(value = "app.service", histogram = true)
+@RequiredArgsConstructor
+public class BalanceService {
+    private final BalanceCheckpointRepository checkpointRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final AnalyticsService analyticsService;
+    private final Money money;
+
+    public void add(Transaction transaction) {
+        shift(transaction.getUser().getId(), transaction.getDate(), net(transaction));
+    }
+
+    // Folds a batch of new rows into one shift per month
+    public void addAll(Collection<Transaction> transactions) {
+        Map<MonthKey, long[]> nets = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.getDate() != null) {
+                long[] net = nets.computeIfAbsent(
+                        new MonthKey(transaction.getUser().getId(), YearMonth.from(transaction.getDate())), key -> new long[1]);
+                net[0] = Money.add(net[0], net(transaction));
+            }
+        }
+        nets.forEach((key, net) -> shift(key.userId(), key.month(), net[0]));
+    }
+
+    public void remove(Transaction transaction) {
+        shift(transaction.getUser().getId(), transaction.getDate(), -net(transaction));
+    }
+
+    public void replace(Transaction before, Transaction after) {
+        if (before.getDate() != null && after.getDate() != null
+                && YearMonth.from(before.getDate()).equals(YearMonth.from(after.getDate()))) {
+            shift(after.getUser().getId(), after.getDate(), Money.subtract(net(after), net(before)));
+            return;
+        }
+        remove(before);
+        add(after);
+    }
+
+    /**
+     * Discards the user's checkpoints and rebuilds them from {@code transactions}
+     * with one grouped query. Returns the number of rows written.
+     */
+    @Transactional
+    public int rebuild(Long userId) {
+        checkpointRepository.lockUser(userId);
+        checkpointRepository.deleteByUserId(userId);
+
+        TreeMap<YearMonth, BigDecimal> nets = new TreeMap<>();
+        for (TransactionRepository.MonthTotal row : transactionRepository.sumNetByUserGroupedByMonth(userId)) {
+            nets.put(YearMonth.of(row.getPeriodYear(), row.getPeriodMonth()), row.getTotal());
+        }
+
+        List<BalanceCheckpoint> rows = new ArrayList<>(nets.size());
+        long balance = 0;
+        for (Map.Entry<YearMonth, BigDecimal> entry : nets.entrySet()) {
+            balance = Money.add(balance, money.toMinor(entry.getValue()));
+            rows.add(newCheckpoint(userId, entry.getKey(), money.toDecimal(balance)));
+        }
+        checkpointRepository.saveAll(rows);
+        return rows.size();
+    }
+
+    // Balance of the transactions dated before {@code at}
+    @Transactional(readOnly = true)
+    public BalanceDTO getBalance(Long userId, LocalDateTime at) {
+        LocalDateTime instant = at != null ? at : LocalDateTime.now();
+        return new BalanceDTO(instant, money.toDecimal(balanceBefore(userId, instant)));
+    }
+
+    /**
+     * The balance after each bucket of the series from {@code from} to
+     * {@code to}: the opening balance from one point query, then the net of
+     * each bucket from {@link AnalyticsService#getSeries} added in turn.
+     */
+    @Transactional(readOnly = true)
+    public BalanceCurveDTO getCurve(Long userId, String granularity, LocalDate from, LocalDate to) {
+        SeriesDTO series = analyticsService.getSeries(userId, granularity, from, to, null, null);
+        long balance = balanceBefore(userId, series.getFrom().atStartOfDay());
+        BigDecimal opening = money.toDecimal(balance);
+
+        List<BalancePointDTO> points = new ArrayList<>(series.getBuckets().size());
+        for (SeriesBucketDTO bucket : series.getBuckets()) {
+            balance = Money.add(balance, money.toMinor(bucket.getNet()));
+            points.add(new BalancePointDTO(bucket.getStart(), money.toDecimal(balance)));
+        }
+        return new BalanceCurveDTO(series.getGranularity(), series.getFrom(), series.getTo(), opening, points);
+    }
+
+    private long balanceBefore(Long userId, LocalDateTime at) {
+        YearMonth month = YearMonth.from(at);
+        List<BigDecimal> checkpoint = checkpointRepository.findBalancesBefore(userId, month, Limit.of(1));
+        long balance = checkpoint.isEmpty() ? 0 : money.toMinor(checkpoint.get(0));
+        BigDecimal partial = transactionRepository.sumNetBetween(userId, month.atDay(1).atStartOfDay(), at);
+        return partial != null ? Money.add(balance, money.toMinor(partial)) : balance;
+    }
+
+    private void shift(Long userId, LocalDateTime date, long delta) {
+        if (date != null) {
+            shift(userId, YearMonth.from(date), delta);
+        }
+    }
+
+    private void shift(Long userId, YearMonth month, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        // Writers of one user's checkpoints queue on the user's row, so a new month
+        // is seeded, and later months shifted, with every earlier write applied
+        checkpointRepository.lockUser(userId);
+        if (!checkpointRepository.existsAt(userId, month)) {
+            List<BigDecimal> previous = checkpointRepository.lockBalanceBefore(userId, month.toString());
+            checkpointRepository.insertIfAbsent(userId, month.toString(), previous.isEmpty() ? BigDecimal.ZERO : previous.get(0));
+        }
+        checkpointRepository.shiftFrom(userId, month, money.toDecimal(delta));
+    }
+
+    private long net(Transaction transaction) {
+        long amount = money.toMinor(transaction.getAmount());
+        if (transaction.getType() == TransactionType.INCOME) {
+            return amount;
+        }
+        return transaction.getType() == TransactionType.EXPENSE ? -amount : 0;
+    }
+
+    private BalanceCheckpoint newCheckpoint(Long userId, YearMonth month, BigDecimal balance) {
+        BalanceCheckpoint checkpoint = new BalanceCheckpoint();
+        checkpoint.setUser(userRepository.getReferenceById(userId));
+        checkpoint.setMonth(month);
+        checkpoint.setBalance(balance);
+        return checkpoint;
+    }
+
+    private record MonthKey(Long userId, YearMonth month) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.vishnu.finance.finance_tracker.service;
+
+/**
+ * Published by {@link BudgetService} whenever a user's budgets are written.
+ */
+public record BudgetChangedEvent(Long userId) {
+}
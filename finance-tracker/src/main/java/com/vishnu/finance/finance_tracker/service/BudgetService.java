@@ -7,22 +7,36 @@ import com.vishnu.finance.finance_tracker.entity.TransactionType;
 import com.vishnu.finance.finance_tracker.entity.User;
 import com.vishnu.finance.finance_tracker.repository.BudgetRepository;
 import com.vishnu.finance.finance_tracker.repository.CategoryRepository;
-import com.vishnu.finance.finance_tracker.repository.TransactionRepository;
+import com.vishnu.finance.finance_tracker.repository.MonthlySummaryRepository;
 import com.vishnu.finance.finance_tracker.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.math.BigDecimal;
 import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 @RequiredArgsConstructor
 public class BudgetService {
     private final BudgetRepository budgetRepository;
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
-    private final TransactionRepository transactionRepository;
+    private final MonthlySummaryRepository monthlySummaryRepository;
+    private final LedgerStore ledgerStore;
+    private final Money money;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     public BudgetDTO createBudget(Long userId, BudgetDTO dto) {
         User user = userRepository.findById(userId)
@@ -38,37 +52,43 @@ public class BudgetService {
         budget.setMonth(dto.getMonth() != null ? dto.getMonth() : YearMonth.now());
 
         Budget saved = budgetRepository.save(budget);
-        return convertToDTO(saved);
+        eventPublisher.publishEvent(new BudgetChangedEvent(userId));
+        return convertToDTOs(userId, List.of(toRow(saved)), ledgerStore.ledger(userId)).get(0);
     }
 
+    // The reads below open no transaction of their own, so a cold ledger loads
+    // before any connection is held; read-only keeps them on the replica
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<BudgetDTO> getUserBudgets(Long userId) {
-        return budgetRepository.findByUserId(userId)
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        UserLedger ledger = ledgerStore.ledger(userId);
+        return convertToDTOs(userId, budgetRepository.findByUserId(userId), ledger);
     }
 
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<BudgetDTO> getBudgetsByMonth(Long userId, YearMonth month) {
-        return budgetRepository.findByUserIdAndMonth(userId, month)
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        UserLedger ledger = ledgerStore.ledger(userId);
+        return convertToDTOs(userId, budgetRepository.findByUserIdAndMonth(userId, month), ledger);
     }
 
+    // Spending is filled in after the write commits, outside its transaction
     public BudgetDTO updateBudget(Long userId, Long budgetId, BudgetDTO dto) {
-        Budget budget = budgetRepository.findById(budgetId)
-                .orElseThrow(() -> new RuntimeException("Budget not found"));
-        
-        if (!budget.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Unauthorized");
-        }
+        BudgetRepository.BudgetRow updated = transactionTemplate.execute(status -> {
+            Budget budget = budgetRepository.findWithCategoryById(budgetId)
+                    .orElseThrow(() -> new RuntimeException("Budget not found"));
 
-        if (dto.getBudgetAmount() != null) {
-            budget.setBudgetAmount(dto.getBudgetAmount());
-        }
+            if (!budget.getUser().getId().equals(userId)) {
+                throw new RuntimeException("Unauthorized");
+            }
 
-        Budget updated = budgetRepository.save(budget);
-        return convertToDTO(updated);
+            if (dto.getBudgetAmount() != null) {
+                budget.setBudgetAmount(dto.getBudgetAmount());
+            }
+
+            Budget saved = budgetRepository.save(budget);
+            eventPublisher.publishEvent(new BudgetChangedEvent(userId));
+            return toRow(saved);
+        });
+        return convertToDTOs(userId, List.of(updated), ledgerStore.ledger(userId)).get(0);
     }
 
     public void deleteBudget(Long userId, Long budgetId) {
@@ -80,28 +100,74 @@ public class BudgetService {
         }
 
         budgetRepository.deleteById(budgetId);
+        eventPublisher.publishEvent(new BudgetChangedEvent(userId));
     }
 
-    private BudgetDTO convertToDTO(Budget budget) {
-        BigDecimal spent = transactionRepository.sumByUserCategoryAndMonth(
-                budget.getUser().getId(),
-                budget.getCategory().getId(),
-                TransactionType.EXPENSE,
-                budget.getMonth().getMonthValue(),
-                budget.getMonth().getYear()
-        );
-        spent = spent != null ? spent : BigDecimal.ZERO;
-        BigDecimal remaining = budget.getBudgetAmount().subtract(spent);
-
-        return new BudgetDTO(
+    private BudgetRepository.BudgetRow toRow(Budget budget) {
+        return new BudgetRepository.BudgetRow(
                 budget.getId(),
                 budget.getUser().getId(),
                 budget.getCategory().getId(),
                 budget.getCategory().getName(),
                 budget.getBudgetAmount(),
-                budget.getMonth(),
-                spent,
-                remaining
+                budget.getMonth()
+        );
+    }
+
+    private List<BudgetDTO> convertToDTOs(Long userId, List<BudgetRepository.BudgetRow> budgets, UserLedger ledger) {
+        Map<SpendKey, Long> spentByKey = spentByCategoryAndMonth(userId, budgets, ledger);
+        return budgets.stream()
+                .map(budget -> convertToDTO(budget, spentByKey.getOrDefault(
+                        new SpendKey(budget.categoryId(), budget.month()), 0L)))
+                .collect(Collectors.toList());
+    }
+
+    // From the in-memory ledger when enabled, otherwise one read of the monthly_summary
+    // rows spanning every budgeted month; in minor units
+    private Map<SpendKey, Long> spentByCategoryAndMonth(Long userId, List<BudgetRepository.BudgetRow> budgets, UserLedger ledger) {
+        Map<SpendKey, Long> spent = new HashMap<>();
+        if (budgets.isEmpty()) {
+            return spent;
+        }
+
+        Set<Long> categoryIds = new HashSet<>();
+        if (ledger != null) {
+            for (BudgetRepository.BudgetRow budget : budgets) {
+                spent.put(new SpendKey(budget.categoryId(), budget.month()), ledger.spent(budget.categoryId(), budget.month()));
+            }
+            return spent;
+        }
+
+        YearMonth first = null;
+        YearMonth last = null;
+        for (BudgetRepository.BudgetRow budget : budgets) {
+            categoryIds.add(budget.categoryId());
+            if (first == null || budget.month().isBefore(first)) first = budget.month();
+            if (last == null || budget.month().isAfter(last)) last = budget.month();
+        }
+
+        for (MonthlySummaryRepository.CategoryMonthTotal row : monthlySummaryRepository.findByUserAndTypeAndCategories(
+                userId, TransactionType.EXPENSE, categoryIds, first, last)) {
+            spent.put(new SpendKey(row.getCategoryId(), row.getMonth()), money.toMinor(row.getTotal()));
+        }
+        return spent;
+    }
+
+    private BudgetDTO convertToDTO(BudgetRepository.BudgetRow budget, long spent) {
+        long remaining = Money.subtract(money.toMinor(budget.budgetAmount()), spent);
+
+        return new BudgetDTO(
+                budget.id(),
+                budget.userId(),
+                budget.categoryId(),
+                budget.categoryName(),
+                budget.budgetAmount(),
+                budget.month(),
+                money.toDecimal(spent),
+                money.toDecimal(remaining)
         );
     }
+
+    private record SpendKey(Long categoryId, YearMonth month) {
+    }
 }
@@ -4,18 +4,31 @@ import com.vishnu.finance.finance_tracker.dto.CategoryDTO;
 import com.vishnu.finance.finance_tracker.entity.Category;
 import com.vishnu.finance.finance_tracker.entity.TransactionType;
 import com.vishnu.finance.finance_tracker.entity.User;
+import com.vishnu.finance.finance_tracker.repository.BudgetRepository;
 import com.vishnu.finance.finance_tracker.repository.CategoryRepository;
+import com.vishnu.finance.finance_tracker.repository.MonthlySummaryRepository;
+import com.vishnu.finance.finance_tracker.repository.TransactionRepository;
 import com.vishnu.finance.finance_tracker.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 @RequiredArgsConstructor
 public class CategoryService {
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
+    private final MonthlySummaryRepository monthlySummaryRepository;
+    private final TransactionRepository transactionRepository;
+    private final BudgetRepository budgetRepository;
+    private final BalanceService balanceService;
+    private final LedgerStore ledgerStore;
+    private final NoteSearchIndex noteSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     public CategoryDTO createCategory(Long userId, CategoryDTO dto) {
         User user = userRepository.findById(userId)
@@ -28,22 +41,19 @@ public class CategoryService {
         category.setUser(user);
 
         Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new LedgerChangedEvent(userId));
         return convertToDTO(saved);
     }
 
+    @Transactional(readOnly = true)
     public List<CategoryDTO> getUserCategories(Long userId) {
-        return categoryRepository.findByUserId(userId)
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return categoryRepository.findDtosByUserId(userId);
     }
 
+    @Transactional(readOnly = true)
     public List<CategoryDTO> getCategoriesByType(Long userId, String type) {
         TransactionType transactionType = TransactionType.valueOf(type.toUpperCase());
-        return categoryRepository.findByUserIdAndType(userId, transactionType)
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return categoryRepository.findByUserIdAndType(userId, transactionType);
     }
 
     public CategoryDTO updateCategory(Long userId, Long categoryId, CategoryDTO dto) {
@@ -55,15 +65,33 @@ public class CategoryService {
         if (dto.getType() != null) category.setType(TransactionType.valueOf(dto.getType().toUpperCase()));
 
         Category updated = categoryRepository.save(category);
+        ledgerStore.invalidate(userId);
+        eventPublisher.publishEvent(new LedgerChangedEvent(userId));
         return convertToDTO(updated);
     }
 
+    /**
+     * Deletes the category together with its transactions, budgets and rollup
+     * rows, one set-based statement per table, without loading any of them.
+     * The user's balance checkpoints are then rebuilt from what remains.
+     */
+    @Transactional
     public void deleteCategory(Long userId, Long categoryId) {
-        Category category = categoryRepository.findByIdAndUserId(categoryId, userId)
-                .orElseThrow(() -> new RuntimeException("Category not found"));
-        categoryRepository.deleteById(categoryId);
+        if (categoryRepository.findByIdAndUserId(categoryId, userId).isEmpty()) {
+            throw new RuntimeException("Category not found");
+        }
+        monthlySummaryRepository.deleteByCategoryId(categoryId);
+        transactionRepository.deleteByUserIdAndCategoryId(userId, categoryId);
+        budgetRepository.deleteByUserIdAndCategoryId(userId, categoryId);
+        categoryRepository.deleteByIdAndUserId(categoryId, userId);
+        balanceService.rebuild(userId);
+        ledgerStore.invalidate(userId);
+        noteSearchIndex.invalidate(userId);
+        eventPublisher.publishEvent(new LedgerChangedEvent(userId));
+        eventPublisher.publishEvent(new BudgetChangedEvent(userId));
     }
 
+    @Transactional(readOnly = true)
     public CategoryDTO getCategory(Long userId, Long categoryId) {
         Category category = categoryRepository.findByIdAndUserId(categoryId, userId)
                 .orElseThrow(() -> new RuntimeException("Category not found"));
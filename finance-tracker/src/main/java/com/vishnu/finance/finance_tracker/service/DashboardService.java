@@ -2,53 +2,151 @@ package com.vishnu.finance.finance_tracker.service;
 
 import com.vishnu.finance.finance_tracker.dto.DashboardDTO;
 import com.vishnu.finance.finance_tracker.entity.TransactionType;
+import com.vishnu.finance.finance_tracker.repository.MonthlySummaryRepository;
 import com.vishnu.finance.finance_tracker.repository.TransactionRepository;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.YearMonth;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+/**
+ * Builds the per-user dashboard and keeps the result in a size-bounded cache.
+ * Entries are dropped once a {@link LedgerChangedEvent} for the user commits,
+ * and after {@code app.dashboard.cache.ttl} so the twelve-month window moves
+ * on even for idle users. Hits, misses, evictions and load time are published
+ * as the {@code cache.*} meters tagged {@code cache=dashboard}.
+ */
 @Service
-@RequiredArgsConstructor
+@Timed(value = "app.service", histogram = true)
 public class DashboardService {
     private final TransactionRepository transactionRepository;
+    private final MonthlySummaryRepository monthlySummaryRepository;
+    private final LedgerStore ledgerStore;
+    private final TransactionTemplate readTemplate;
+    private final AsyncCache<Long, DashboardDTO> cache;
 
+    public DashboardService(TransactionRepository transactionRepository,
+                            MonthlySummaryRepository monthlySummaryRepository,
+                            LedgerStore ledgerStore,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.dashboard.cache.max-size:10000}") long maxSize,
+                            @Value("${app.dashboard.cache.ttl:10m}") Duration ttl,
+                            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.transactionRepository = transactionRepository;
+        this.monthlySummaryRepository = monthlySummaryRepository;
+        this.ledgerStore = ledgerStore;
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        meterRegistry.ifAvailable(registry -> {
+            CaffeineCacheMetrics.monitor(registry, cache.synchronous(), "dashboard");
+            Gauge.builder("cache.hit.ratio", cache.synchronous(), c -> c.stats().hitRate())
+                    .tag("cache", "dashboard")
+                    .register(registry);
+        });
+    }
+
+    /**
+     * The first caller for a user parks an empty future in the cache and builds
+     * the dashboard on its own thread; concurrent callers wait on that future.
+     * Keeping the queries out of the cache's compute lock means a virtual thread
+     * is never pinned to its carrier while it waits on JDBC.
+     *
+     * <p>No transaction is opened up front: the ledger is fetched first, and
+     * only the aggregate fallback reads inside one. Read-only still routes that
+     * transaction to the replica when one is configured.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public DashboardDTO getDashboard(Long userId) {
-        BigDecimal totalIncome = transactionRepository.sumByUserAndType(userId, TransactionType.INCOME);
-        BigDecimal totalExpense = transactionRepository.sumByUserAndType(userId, TransactionType.EXPENSE);
-        
-        totalIncome = totalIncome != null ? totalIncome : BigDecimal.ZERO;
-        totalExpense = totalExpense != null ? totalExpense : BigDecimal.ZERO;
-        
+        CompletableFuture<DashboardDTO> mine = new CompletableFuture<>();
+        CompletableFuture<DashboardDTO> future = cache.get(userId, (id, executor) -> mine);
+        if (future == mine) {
+            try {
+                mine.complete(buildDashboard(userId));
+            } catch (RuntimeException ex) {
+                mine.completeExceptionally(ex);
+                throw ex;
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+    // Ahead of DataVersionService, so a new ETag is never paired with the cached dashboard
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLedgerChanged(LedgerChangedEvent event) {
+        cache.synchronous().invalidate(event.userId());
+    }
+
+    // From the in-memory ledger when enabled, otherwise with three reads of the
+    // monthly_summary rollup and a row count
+    private DashboardDTO buildDashboard(Long userId) {
+        UserLedger ledger = ledgerStore.ledger(userId);
+        if (ledger != null) {
+            return ledger.dashboard(YearMonth.now());
+        }
+        return readTemplate.execute(status -> aggregateDashboard(userId));
+    }
+
+    private DashboardDTO aggregateDashboard(Long userId) {
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalExpense = BigDecimal.ZERO;
+        for (MonthlySummaryRepository.TypeTotal row : monthlySummaryRepository.sumByUserGroupedByType(userId)) {
+            if (row.getType() == TransactionType.INCOME) {
+                totalIncome = row.getTotal();
+            } else if (row.getType() == TransactionType.EXPENSE) {
+                totalExpense = row.getTotal();
+            }
+        }
+
         BigDecimal netBalance = totalIncome.subtract(totalExpense);
 
         // Get category-wise expenses
-        Map<String, BigDecimal> categoryExpenses = transactionRepository.findByUserIdAndType(userId, TransactionType.EXPENSE)
-                .stream()
-                .collect(Collectors.groupingBy(
-                        t -> t.getCategory().getName(),
-                        Collectors.reducing(BigDecimal.ZERO, t -> t.getAmount(), BigDecimal::add)
-                ));
+        Map<String, BigDecimal> categoryExpenses = new HashMap<>();
+        for (MonthlySummaryRepository.CategoryTotal row : monthlySummaryRepository.sumByUserAndTypeGroupedByCategory(userId, TransactionType.EXPENSE)) {
+            categoryExpenses.put(row.getCategoryName(), row.getTotal());
+        }
 
         // Get monthly data for last 12 months
+        YearMonth current = YearMonth.now();
+        YearMonth first = current.minusMonths(11);
         Map<String, BigDecimal> monthlyData = new HashMap<>();
-        for (int i = 11; i >= 0; i--) {
-            YearMonth month = YearMonth.now().minusMonths(i);
-            String key = month.toString();
-            
-            BigDecimal income = transactionRepository.findByUserIdAndType(userId, TransactionType.INCOME)
-                    .stream()
-                    .filter(t -> YearMonth.from(t.getDate()).equals(month))
-                    .map(t -> t.getAmount())
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            monthlyData.put(key, income);
+        for (int i = 0; i < 12; i++) {
+            monthlyData.put(first.plusMonths(i).toString(), BigDecimal.ZERO);
+        }
+        for (MonthlySummaryRepository.MonthTotal row : monthlySummaryRepository.sumByUserAndTypeGroupedByMonth(
+                userId, TransactionType.INCOME, first, current)) {
+            monthlyData.put(row.getMonth().toString(), row.getTotal());
         }
 
-        int transactionCount = transactionRepository.findByUserId(userId).size();
+        int transactionCount = (int) transactionRepository.countByUserId(userId);
 
         return new DashboardDTO(totalIncome, totalExpense, netBalance, categoryExpenses, monthlyData, transactionCount);
     }
@@ -0,0 +1,57 @@
+package com.vishnu.finance.finance_tracker.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out a per-user data version for ETags. The version moves forward once
+ * a write to the user's transactions, categories or budgets has committed, so
+ * a version read before a query always describes data at least that new.
+ *
+ * <p>Versions come from one process-wide counter, so a user whose entry was
+ * evicted gets a value no client has seen, and the process start time in the
+ * tag keeps tags from an earlier run from matching. Versions live in memory:
+ * with several instances behind a load balancer, writes on one instance are
+ * not seen by the others' versions.
+ *
+ * <p>The version moves last among the after-commit listeners: caches of the
+ * user's data are cleared first, so a request that reads the new version
+ * cannot pair it with a response cached before the write.
+ */
+@Service
+public class DataVersionService {
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong clock = new AtomicLong();
+    private final Cache<Long, Long> versions;
+
+    public DataVersionService(@Value("${app.etag.max-users:100000}") long maxUsers) {
+        this.versions = Caffeine.newBuilder().maximumSize(maxUsers).build();
+    }
+
+    public String etag(Long userId) {
+        return epoch + "-" + versions.get(userId, id -> clock.incrementAndGet());
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLedgerChanged(LedgerChangedEvent event) {
+        bump(event.userId());
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBudgetChanged(BudgetChangedEvent event) {
+        bump(event.userId());
+    }
+
+    private void bump(Long userId) {
+        versions.put(userId, clock.incrementAndGet());
+    }
+}
@@ -0,0 +1,8 @@
+package com.vishnu.finance.finance_tracker.service;
+
+/**
+ * Published by {@link TransactionService} and {@link CategoryService} whenever
+ * a write changes what a user's ledger totals or category names look like.
+ */
+public record LedgerChangedEvent(Long userId) {
+}
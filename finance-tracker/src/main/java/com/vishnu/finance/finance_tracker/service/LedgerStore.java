@@ -0,0 +1,178 @@
+package com.vishnu.finance.finance_tracker.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vishnu.finance.finance_tracker.dto.CategoryDTO;
+import com.vishnu.finance.finance_tracker.entity.Transaction;
+import com.vishnu.finance.finance_tracker.entity.TransactionType;
+import com.vishnu.finance.finance_tracker.repository.CategoryRepository;
+import com.vishnu.finance.finance_tracker.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-process store of {@link UserLedger}s for active users, turned on
+ * with {@code app.ledger.store.enabled}. A user's ledger is loaded on first use
+ * and then kept current by the mutation hooks {@link TransactionService} calls,
+ * which apply once the write commits. Changes the hooks cannot patch, such as
+ * bulk imports or category edits, drop the ledger so the next read reloads it.
+ *
+ * <p>Ledgers are weighed by row count against {@code app.ledger.store.max-rows}
+ * and dropped after {@code app.ledger.store.idle} without use. Cache activity
+ * is published as the {@code cache.*} meters tagged {@code cache=ledger}.
+ *
+ * <p>A cold {@link #ledger} call loads on its own thread and connection, so
+ * callers fetch the ledger before opening a transaction of their own.
+ */
+@Service
+public class LedgerStore {
+    private final TransactionRepository transactionRepository;
+    private final CategoryRepository categoryRepository;
+    private final Money money;
+    private final TransactionTemplate loadTemplate;
+    private final AsyncCache<Long, UserLedger> ledgers;
+
+    public LedgerStore(TransactionRepository transactionRepository,
+                       CategoryRepository categoryRepository,
+                       PlatformTransactionManager transactionManager,
+                       Money money,
+                       @Value("${app.ledger.store.enabled:false}") boolean enabled,
+                       @Value("${app.ledger.store.max-rows:5000000}") long maxRows,
+                       @Value("${app.ledger.store.idle:30m}") Duration idle,
+                       ObjectProvider<MeterRegistry> meterRegistry) {
+        this.transactionRepository = transactionRepository;
+        this.categoryRepository = categoryRepository;
+        this.money = money;
+        // Loaded on the primary in a transaction of its own: a replica snapshot
+        // could predate writes whose hooks have already run
+        this.loadTemplate = new TransactionTemplate(transactionManager);
+        this.loadTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.ledgers = !enabled ? null : Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                .weigher((Long userId, UserLedger ledger) -> ledger.size() + 1)
+                .expireAfterAccess(idle)
+                .recordStats()
+                .buildAsync();
+        if (ledgers != null) {
+            meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, ledgers.synchronous(), "ledger"));
+        }
+    }
+
+    public boolean isEnabled() {
+        return ledgers != null;
+    }
+
+    /**
+     * The user's ledger, loading it if needed; null when the store is off. As
+     * in {@link DashboardService#getDashboard}, the first caller parks an empty
+     * future and loads outside the cache's compute lock while others wait on it.
+     */
+    public UserLedger ledger(Long userId) {
+        if (ledgers == null) {
+            return null;
+        }
+        CompletableFuture<UserLedger> mine = new CompletableFuture<>();
+        CompletableFuture<UserLedger> future = ledgers.get(userId, (id, executor) -> mine);
+        if (future == mine) {
+            try {
+                mine.complete(load(userId));
+            } catch (RuntimeException ex) {
+                mine.completeExceptionally(ex);
+                throw ex;
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+    // Hook for a created or updated transaction
+    public void saved(Transaction transaction) {
+        if (ledgers == null || transaction.getType() == null) {
+            return;
+        }
+        Long userId = transaction.getUser().getId();
+        long id = transaction.getId();
+        int day = UserLedger.epochDay(transaction.getDate());
+        long amount = money.toMinor(transaction.getAmount());
+        Long categoryId = transaction.getCategory() != null ? transaction.getCategory().getId() : null;
+        boolean expense = transaction.getType() == TransactionType.EXPENSE;
+        afterCommit(() -> ledgers.synchronous().asMap().computeIfPresent(userId,
+                (key, ledger) -> ledger.upsert(id, day, amount, categoryId, expense) ? ledger : null));
+    }
+
+    // Hook for a deleted transaction
+    public void removed(Transaction transaction) {
+        if (ledgers == null) {
+            return;
+        }
+        Long userId = transaction.getUser().getId();
+        long id = transaction.getId();
+        afterCommit(() -> ledgers.synchronous().asMap().computeIfPresent(userId, (key, ledger) -> {
+            ledger.remove(id);
+            return ledger;
+        }));
+    }
+
+    // Hook for changes the ledger cannot patch in place
+    public void invalidate(Long userId) {
+        if (ledgers != null) {
+            afterCommit(() -> ledgers.synchronous().invalidate(userId));
+        }
+    }
+
+    private UserLedger load(Long userId) {
+        return loadTemplate.execute(status -> {
+            List<CategoryDTO> categories = categoryRepository.findDtosByUserId(userId);
+            long[] categoryIds = new long[categories.size()];
+            String[] categoryNames = new String[categories.size()];
+            for (int i = 0; i < categories.size(); i++) {
+                categoryIds[i] = categories.get(i).getId();
+                categoryNames[i] = categories.get(i).getName();
+            }
+
+            UserLedger ledger = new UserLedger((int) transactionRepository.countByUserId(userId), money, categoryIds, categoryNames);
+            try (Stream<TransactionRepository.LedgerRow> rows = transactionRepository.streamLedger(userId)) {
+                rows.forEach(row -> {
+                    // Rows without a type cannot be created through the API and count towards neither total
+                    if (row.getType() == null) {
+                        ledger.appendUntyped(row.getId());
+                    } else {
+                        ledger.append(row.getId(), UserLedger.epochDay(row.getDate()), money.toMinor(row.getAmount()),
+                                row.getCategoryId(), row.getType() == TransactionType.EXPENSE);
+                    }
+                });
+            }
+            return ledger;
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package com.vishnu.finance.finance_tracker.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * Amounts of one currency held as a long count of its minor units, for sums
+ * computed in the JVM. Conversion from {@link BigDecimal} rounds half up to
+ * the currency's minor digits, as the database does on insert. Sums and
+ * differences are overflow-checked and throw {@link ArithmeticException}
+ * instead of wrapping. Convert back with {@link #toDecimal} only where a
+ * DTO or a statement parameter is built.
+ */
+public final class Money {
+    private final Currency currency;
+    private final int scale;
+
+    private Money(Currency currency, int scale) {
+        this.currency = currency;
+        this.scale = scale;
+    }
+
+    public static Money of(Currency currency) {
+        // Pseudo-currencies such as XAU report -1 minor digits
+        return new Money(currency, Math.max(currency.getDefaultFractionDigits(), 0));
+    }
+
+    public Currency currency() {
+        return currency;
+    }
+
+    public int scale() {
+        return scale;
+    }
+
+    public long toMinor(BigDecimal amount) {
+        return amount.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public BigDecimal toDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, scale);
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    @Override
+    public String toString() {
+        return currency.getCurrencyCode() + " (scale " + scale + ")";
+    }
+}
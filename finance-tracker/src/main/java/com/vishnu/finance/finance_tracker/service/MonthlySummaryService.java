@@ -0,0 +1,171 @@
+package com.vishnu.finance.finance_tracker.service;
+
+import com.vishnu.finance.finance_tracker.entity.MonthlySummary;
+import com.vishnu.finance.finance_tracker.entity.Transaction;
+import com.vishnu.finance.finance_tracker.entity.TransactionType;
+import com.vishnu.finance.finance_tracker.repository.CategoryRepository;
+import com.vishnu.finance.finance_tracker.repository.MonthlySummaryRepository;
+import com.vishnu.finance.finance_tracker.repository.TransactionRepository;
+import com.vishnu.finance.finance_tracker.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the {@code monthly_summary} rollup in step with {@code transactions}.
+ * The delta methods are meant to be called from inside the transaction that
+ * performs the write, so the rollup commits or rolls back with it. The
+ * dashboard totals and budget spending are read from the rollup; rows without
+ * a type, date or category have no key and are left out of it.
+ */
+@Service
+@RequiredArgsConstructor
+public class MonthlySummaryService {
+    private final MonthlySummaryRepository monthlySummaryRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final Money money;
+
+    public void add(Transaction transaction) {
+        apply(Key.of(transaction), transaction.getAmount(), 1);
+    }
+
+    // Folds a batch of new rows into one delta per rollup key, summed in minor units
+    public void addAll(Collection<Transaction> transactions) {
+        Map<Key, long[]> totals = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            Key key = Key.of(transaction);
+            if (key == null) {
+                continue;
+            }
+            long[] total = totals.computeIfAbsent(key, k -> new long[2]);
+            total[0] = Money.add(total[0], money.toMinor(transaction.getAmount()));
+            total[1]++;
+        }
+        for (Map.Entry<Key, long[]> entry : totals.entrySet()) {
+            apply(entry.getKey(), money.toDecimal(entry.getValue()[0]), entry.getValue()[1]);
+        }
+    }
+
+    public void remove(Transaction transaction) {
+        apply(Key.of(transaction), transaction.getAmount().negate(), -1);
+    }
+
+    public void replace(Transaction before, Transaction after) {
+        Key oldKey = Key.of(before);
+        Key newKey = Key.of(after);
+        if (oldKey != null && oldKey.equals(newKey)) {
+            long delta = Money.subtract(money.toMinor(after.getAmount()), money.toMinor(before.getAmount()));
+            if (delta != 0) {
+                apply(newKey, money.toDecimal(delta), 0);
+            }
+            return;
+        }
+        apply(oldKey, before.getAmount().negate(), -1);
+        apply(newKey, after.getAmount(), 1);
+    }
+
+    /**
+     * Recomputes the user's rollup rows from {@code transactions} and returns
+     * every key whose stored sum or count differs. Rows that have been
+     * decremented to zero are treated the same as missing rows.
+     */
+    @Transactional(readOnly = true)
+    public List<Drift> verify(Long userId) {
+        Map<Key, TransactionRepository.MonthlyRollup> expected = recompute(userId);
+
+        Map<Key, MonthlySummary> actual = new HashMap<>();
+        for (MonthlySummary summary : monthlySummaryRepository.findByUserId(userId)) {
+            actual.put(new Key(userId, summary.getCategory().getId(), summary.getType(), summary.getMonth()), summary);
+        }
+
+        List<Drift> drift = new ArrayList<>();
+        for (Map.Entry<Key, TransactionRepository.MonthlyRollup> entry : expected.entrySet()) {
+            MonthlySummary stored = actual.remove(entry.getKey());
+            BigDecimal storedTotal = stored != null ? stored.getTotalAmount() : BigDecimal.ZERO;
+            long storedCount = stored != null ? stored.getTransactionCount() : 0;
+            TransactionRepository.MonthlyRollup raw = entry.getValue();
+            if (raw.getTotal().compareTo(storedTotal) != 0 || raw.getTransactionCount() != storedCount) {
+                drift.add(new Drift(entry.getKey(), raw.getTotal(), storedTotal, raw.getTransactionCount(), storedCount));
+            }
+        }
+        for (Map.Entry<Key, MonthlySummary> entry : actual.entrySet()) {
+            MonthlySummary stored = entry.getValue();
+            if (stored.getTotalAmount().signum() != 0 || stored.getTransactionCount() != 0) {
+                drift.add(new Drift(entry.getKey(), BigDecimal.ZERO, stored.getTotalAmount(), 0, stored.getTransactionCount()));
+            }
+        }
+        return drift;
+    }
+
+    /**
+     * Discards the user's rollup rows and rebuilds them from {@code transactions}.
+     * Returns the number of rows written.
+     */
+    @Transactional
+    public int rebuild(Long userId) {
+        monthlySummaryRepository.deleteByUserId(userId);
+
+        List<MonthlySummary> rows = new ArrayList<>();
+        for (Map.Entry<Key, TransactionRepository.MonthlyRollup> entry : recompute(userId).entrySet()) {
+            rows.add(newSummary(entry.getKey(), entry.getValue().getTotal(), entry.getValue().getTransactionCount()));
+        }
+        monthlySummaryRepository.saveAll(rows);
+        return rows.size();
+    }
+
+    private Map<Key, TransactionRepository.MonthlyRollup> recompute(Long userId) {
+        Map<Key, TransactionRepository.MonthlyRollup> rollups = new HashMap<>();
+        for (TransactionRepository.MonthlyRollup row : transactionRepository.summarizeByUserGroupedByCategoryTypeAndMonth(userId)) {
+            YearMonth month = YearMonth.of(row.getPeriodYear(), row.getPeriodMonth());
+            rollups.put(new Key(userId, row.getCategoryId(), row.getType(), month), row);
+        }
+        return rollups;
+    }
+
+    private void apply(Key key, BigDecimal amount, long count) {
+        if (key == null) {
+            return;
+        }
+        monthlySummaryRepository.applyDelta(
+                key.userId(), key.categoryId(), key.type().name(), key.month().toString(), amount, count);
+    }
+
+    private MonthlySummary newSummary(Key key, BigDecimal total, long count) {
+        MonthlySummary summary = new MonthlySummary();
+        summary.setUser(userRepository.getReferenceById(key.userId()));
+        summary.setCategory(categoryRepository.getReferenceById(key.categoryId()));
+        summary.setType(key.type());
+        summary.setMonth(key.month());
+        summary.setTotalAmount(total);
+        summary.setTransactionCount(count);
+        return summary;
+    }
+
+    public record Key(Long userId, Long categoryId, TransactionType type, YearMonth month) {
+        // Null for a row the rollup cannot file under a key
+        static Key of(Transaction transaction) {
+            if (transaction.getType() == null || transaction.getDate() == null || transaction.getCategory() == null) {
+                return null;
+            }
+            return new Key(
+                    transaction.getUser().getId(),
+                    transaction.getCategory().getId(),
+                    transaction.getType(),
+                    YearMonth.from(transaction.getDate())
+            );
+        }
+    }
+
+    public record Drift(Key key, BigDecimal expectedTotal, BigDecimal storedTotal, long expectedCount, long storedCount) {
+    }
+}
@@ -0,0 +1,317 @@
+package com.vishnu.finance.finance_tracker.service;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index of one user's transaction notes: each lower-cased word maps
+ * to the ids of the transactions whose note contains it. Terms are kept
+ * sorted, so a prefix is a range of the term map, and each posting list is
+ * held as ascending ids, delta-encoded in variable-length bytes.
+ *
+ * <p>Readers share a read lock; the mutations take the write lock. Adding an
+ * id above the last one of a list, the usual case for new rows, appends in
+ * place; anything else re-encodes that list.
+ */
+public final class NoteIndex {
+    // Longer words are indexed, and searched, by their first characters
+    static final int MAX_TERM_LENGTH = 32;
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private long postings;
+
+    // The distinct terms of a note or query, in order
+    static Set<String> terms(String text) {
+        Set<String> terms = new TreeSet<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String word : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                terms.add(word.length() > MAX_TERM_LENGTH ? word.substring(0, MAX_TERM_LENGTH) : word);
+            }
+        }
+        return terms;
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Terms plus the ids across their posting lists, the size the cache weighs
+    public long weight() {
+        lock.readLock().lock();
+        try {
+            return terms.size() + postings;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void add(long id, String note) {
+        Set<String> noteTerms = terms(note);
+        if (noteTerms.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (String term : noteTerms) {
+                Postings list = terms.computeIfAbsent(term, key -> new Postings());
+                int before = list.count;
+                list.add(id);
+                postings += list.count - before;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id, String note) {
+        Set<String> noteTerms = terms(note);
+        if (noteTerms.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (String term : noteTerms) {
+                Postings list = terms.get(term);
+                if (list == null) {
+                    continue;
+                }
+                int before = list.count;
+                if (list.remove(id)) {
+                    terms.remove(term);
+                }
+                postings -= before - list.count;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the transactions whose note has, for every word of the query, a
+     * word starting with it. The highest {@code limit} ids come back, highest
+     * first.
+     */
+    public long[] search(String query, int limit) {
+        Set<String> queryTerms = terms(query);
+        if (queryTerms.isEmpty()) {
+            throw new RuntimeException("Search query must contain a letter or digit");
+        }
+        lock.readLock().lock();
+        try {
+            long[] matches = null;
+            for (String prefix : queryTerms) {
+                long[] ids = withPrefix(prefix);
+                matches = matches == null ? ids : intersect(matches, ids);
+                if (matches.length == 0) {
+                    break;
+                }
+            }
+
+            int count = Math.min(limit, matches.length);
+            long[] newestFirst = new long[count];
+            for (int i = 0; i < count; i++) {
+                newestFirst[i] = matches[matches.length - 1 - i];
+            }
+            return newestFirst;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(terms.size());
+            for (Map.Entry<String, Postings> entry : terms.entrySet()) {
+                out.writeUTF(entry.getKey());
+                entry.getValue().writeTo(out);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static NoteIndex readFrom(DataInput in) throws IOException {
+        NoteIndex index = new NoteIndex();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            String term = in.readUTF();
+            Postings list = Postings.readFrom(in);
+            index.terms.put(term, list);
+            index.postings += list.count;
+        }
+        return index;
+    }
+
+    // Union of the posting lists of every term starting with the prefix, ascending
+    private long[] withPrefix(String prefix) {
+        NavigableMap<String, Postings> range = terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        if (range.size() == 1) {
+            return range.firstEntry().getValue().decode();
+        }
+        int total = 0;
+        for (Postings postings : range.values()) {
+            total += postings.count;
+        }
+        long[] ids = new long[total];
+        int size = 0;
+        for (Postings postings : range.values()) {
+            size = postings.decodeInto(ids, size);
+        }
+        Arrays.sort(ids);
+        return distinct(ids);
+    }
+
+    private static long[] distinct(long[] sorted) {
+        int size = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (size == 0 || sorted[i] != sorted[size - 1]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        return size == sorted.length ? sorted : Arrays.copyOf(sorted, size);
+    }
+
+    private static long[] intersect(long[] a, long[] b) {
+        long[] both = new long[Math.min(a.length, b.length)];
+        int size = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                both[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(both, size);
+    }
+
+    /**
+     * Ascending ids as the gaps between them, seven bits to a byte with the
+     * high bit set on every byte but a gap's last. Ids close together, as one
+     * user's are, take one or two bytes each.
+     */
+    static final class Postings {
+        private byte[] bytes = new byte[8];
+        private int length;
+        private int count;
+        private long last;
+
+        void add(long id) {
+            if (count == 0 || id > last) {
+                append(id - last);
+                last = id;
+                count++;
+                return;
+            }
+            long[] ids = decode();
+            int at = Arrays.binarySearch(ids, id);
+            if (at >= 0) {
+                return;
+            }
+            at = -at - 1;
+            long[] grown = new long[ids.length + 1];
+            System.arraycopy(ids, 0, grown, 0, at);
+            grown[at] = id;
+            System.arraycopy(ids, at, grown, at + 1, ids.length - at);
+            encode(grown, grown.length);
+        }
+
+        // Returns true when the list is left empty
+        boolean remove(long id) {
+            long[] ids = decode();
+            int at = Arrays.binarySearch(ids, id);
+            if (at >= 0) {
+                System.arraycopy(ids, at + 1, ids, at, ids.length - at - 1);
+                encode(ids, ids.length - 1);
+            }
+            return count == 0;
+        }
+
+        long[] decode() {
+            long[] ids = new long[count];
+            decodeInto(ids, 0);
+            return ids;
+        }
+
+        int decodeInto(long[] ids, int from) {
+            long id = 0;
+            int position = 0;
+            for (int i = 0; i < count; i++) {
+                long gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = bytes[position++];
+                    gap |= (long) (b & 0x7f) << shift;
+                    shift += 7;
+                } while (b < 0);
+                id += gap;
+                ids[from + i] = id;
+            }
+            return from + count;
+        }
+
+        private void encode(long[] ids, int size) {
+            length = 0;
+            count = 0;
+            last = 0;
+            for (int i = 0; i < size; i++) {
+                append(ids[i] - last);
+                last = ids[i];
+                count++;
+            }
+        }
+
+        private void append(long gap) {
+            if (length + 10 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 10));
+            }
+            while ((gap & ~0x7fL) != 0) {
+                bytes[length++] = (byte) ((gap & 0x7f) | 0x80);
+                gap >>>= 7;
+            }
+            bytes[length++] = (byte) gap;
+        }
+
+        private void writeTo(DataOutput out) throws IOException {
+            out.writeInt(count);
+            out.writeLong(last);
+            out.writeInt(length);
+            out.write(bytes, 0, length);
+        }
+
+        private static Postings readFrom(DataInput in) throws IOException {
+            Postings postings = new Postings();
+            postings.count = in.readInt();
+            postings.last = in.readLong();
+            postings.length = in.readInt();
+            postings.bytes = new byte[Math.max(postings.length, 8)];
+            in.readFully(postings.bytes, 0, postings.length);
+            return postings;
+        }
+    }
+}
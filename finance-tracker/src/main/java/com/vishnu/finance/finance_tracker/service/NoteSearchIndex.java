@@ -0,0 +1,311 @@
+package com.vishnu.finance.finance_tracker.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vishnu.finance.finance_tracker.entity.Transaction;
+import com.vishnu.finance.finance_tracker.repository.TransactionRepository;
+import com.vishnu.finance.finance_tracker.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Per-user {@link NoteIndex}es for searching transaction notes. A user's index
+ * is built on first use and then kept current by the mutation hooks
+ * {@link TransactionService} calls, which apply once the write commits.
+ * With {@code app.search.index.warm-up} every user's index is built in the
+ * background at startup instead.
+ *
+ * <p>Indexes are weighed by terms plus posting ids against
+ * {@code app.search.index.max-postings} and dropped after
+ * {@code app.search.index.idle} without use, published as the {@code cache.*}
+ * meters tagged {@code cache=note-index}. As with {@link LedgerStore}, a cold
+ * index loads on the caller's thread and its own connection, so callers search
+ * before opening a transaction of their own.
+ *
+ * <p>When {@code app.search.index.dir} is set, the indexes are written there
+ * on shutdown, one file per user, and the next start reads a user's file in
+ * place of rescanning the notes. A file is used once and only while the user's
+ * transaction count, highest id and a fingerprint of note lengths still match;
+ * a write for a user whose index is not loaded discards the user's file. The
+ * check cannot see a note rewritten to another of the same length, so the
+ * directory assumes this application is the only writer of notes.
+ */
+@Slf4j
+@Service
+public class NoteSearchIndex {
+    private static final int SNAPSHOT_MAGIC = 0x4e4f5445;
+    private static final int SNAPSHOT_VERSION = 2;
+
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate loadTemplate;
+    private final Path directory;
+    private final boolean warmUp;
+    private final AsyncCache<Long, NoteIndex> indexes;
+    private volatile boolean closing;
+
+    public NoteSearchIndex(TransactionRepository transactionRepository,
+                           UserRepository userRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.search.index.dir:}") String directory,
+                           @Value("${app.search.index.warm-up:false}") boolean warmUp,
+                           @Value("${app.search.index.max-postings:20000000}") long maxPostings,
+                           @Value("${app.search.index.idle:30m}") Duration idle,
+                           ObjectProvider<MeterRegistry> meterRegistry) {
+        this.transactionRepository = transactionRepository;
+        this.userRepository = userRepository;
+        // Built on the primary in a transaction of its own, as the ledger is
+        this.loadTemplate = new TransactionTemplate(transactionManager);
+        this.loadTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.directory = directory.isBlank() ? null : Path.of(directory);
+        this.warmUp = warmUp;
+        this.indexes = Caffeine.newBuilder()
+                .maximumWeight(maxPostings)
+                .weigher((Long userId, NoteIndex index) -> (int) Math.min(index.weight() + 1, Integer.MAX_VALUE))
+                .expireAfterAccess(idle)
+                .recordStats()
+                .buildAsync();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, indexes.synchronous(), "note-index"));
+    }
+
+    // Ids of the user's matching transactions, highest first; see NoteIndex#search
+    public long[] search(Long userId, String query, int limit) {
+        return index(userId).search(query, limit);
+    }
+
+    // The user's index, loading it if needed; concurrent callers share one load, as in LedgerStore#ledger
+    NoteIndex index(Long userId) {
+        CompletableFuture<NoteIndex> mine = new CompletableFuture<>();
+        CompletableFuture<NoteIndex> future = indexes.get(userId, (id, executor) -> mine);
+        if (future == mine) {
+            try {
+                mine.complete(load(userId));
+            } catch (RuntimeException ex) {
+                mine.completeExceptionally(ex);
+                throw ex;
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+    public void add(Transaction transaction) {
+        long id = transaction.getId();
+        String note = transaction.getNote();
+        if (note != null) {
+            apply(transaction.getUser().getId(), index -> index.add(id, note));
+        }
+    }
+
+    public void addAll(Collection<Transaction> transactions) {
+        for (Transaction transaction : transactions) {
+            add(transaction);
+        }
+    }
+
+    public void remove(Transaction transaction) {
+        long id = transaction.getId();
+        String note = transaction.getNote();
+        if (note != null) {
+            apply(transaction.getUser().getId(), index -> index.remove(id, note));
+        }
+    }
+
+    public void replace(Transaction before, Transaction after) {
+        long id = after.getId();
+        String oldNote = before.getNote();
+        String newNote = after.getNote();
+        if (oldNote == null ? newNote != null : !oldNote.equals(newNote)) {
+            apply(after.getUser().getId(), index -> {
+                index.remove(id, oldNote);
+                index.add(id, newNote);
+            });
+        }
+    }
+
+    // Hook for changes the index cannot patch, such as bulk deletes
+    public void invalidate(Long userId) {
+        afterCommit(() -> indexes.synchronous().asMap().compute(userId, (key, index) -> {
+            discardSnapshot(key);
+            return null;
+        }));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWarmUp() {
+        if (!warmUp) {
+            return;
+        }
+        Thread thread = new Thread(this::warmUp, "note-index-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void persist() {
+        closing = true;
+        Map<Long, NoteIndex> loaded = indexes.synchronous().asMap();
+        if (directory == null || loaded.isEmpty()) {
+            return;
+        }
+        int written = 0;
+        try {
+            Files.createDirectories(directory);
+            for (Map.Entry<Long, NoteIndex> entry : loaded.entrySet()) {
+                writeSnapshot(entry.getKey(), entry.getValue());
+                written++;
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Note index snapshot stopped after {} users: {}", written, ex.getMessage());
+            return;
+        }
+        log.info("Note index snapshot written for {} users to {}", written, directory);
+    }
+
+    private void warmUp() {
+        long started = System.nanoTime();
+        int users = 0;
+        for (Long userId : userRepository.findAllIds()) {
+            if (closing) {
+                return;
+            }
+            try {
+                index(userId);
+                users++;
+            } catch (RuntimeException ex) {
+                log.warn("Note index for user {} not built: {}", userId, ex.getMessage());
+            }
+        }
+        log.info("Note index warmed up for {} users in {} ms", users, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private NoteIndex load(Long userId) {
+        return loadTemplate.execute(status -> {
+            NoteIndex snapshot = readSnapshot(userId);
+            if (snapshot != null) {
+                return snapshot;
+            }
+            NoteIndex index = new NoteIndex();
+            try (Stream<TransactionRepository.NoteRow> rows = transactionRepository.streamNotes(userId)) {
+                rows.forEach(row -> index.add(row.getId(), row.getNote()));
+            }
+            return index;
+        });
+    }
+
+    // Applies the change after commit if the index is loaded; otherwise its snapshot is stale
+    private void apply(Long userId, Consumer<NoteIndex> change) {
+        afterCommit(() -> indexes.synchronous().asMap().compute(userId, (key, index) -> {
+            if (index == null) {
+                discardSnapshot(key);
+                return null;
+            }
+            change.accept(index);
+            return index;
+        }));
+    }
+
+    private NoteIndex readSnapshot(Long userId) {
+        if (directory == null) {
+            return null;
+        }
+        Path file = snapshotFile(userId);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        TransactionRepository.NoteStats stats = transactionRepository.noteStats(userId);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION
+                    || in.readLong() != stats.getRowCount()
+                    || in.readLong() != stats.getMaxId()
+                    || in.readLong() != stats.getNoteFingerprint()) {
+                return null;
+            }
+            return NoteIndex.readFrom(in);
+        } catch (IOException ex) {
+            log.warn("Note index snapshot for user {} unreadable: {}", userId, ex.getMessage());
+            return null;
+        } finally {
+            discardSnapshot(userId);
+        }
+    }
+
+    private void writeSnapshot(Long userId, NoteIndex index) throws IOException {
+        Path file = snapshotFile(userId);
+        Path partial = directory.resolve(userId + ".idx.tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(partial)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            TransactionRepository.NoteStats stats = transactionRepository.noteStats(userId);
+            out.writeLong(stats.getRowCount());
+            out.writeLong(stats.getMaxId());
+            out.writeLong(stats.getNoteFingerprint());
+            index.writeTo(out);
+        }
+        try {
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void discardSnapshot(Long userId) {
+        if (directory == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(snapshotFile(userId));
+        } catch (IOException ex) {
+            log.warn("Note index snapshot for user {} not deleted: {}", userId, ex.getMessage());
+        }
+    }
+
+    private Path snapshotFile(Long userId) {
+        return directory.resolve(userId + ".idx");
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
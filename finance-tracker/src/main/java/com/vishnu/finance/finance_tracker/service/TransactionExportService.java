@@ -0,0 +1,124 @@
+package com.vishnu.finance.finance_tracker.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishnu.finance.finance_tracker.entity.TransactionType;
+import com.vishnu.finance.finance_tracker.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a user's ledger straight from a database cursor to an output stream.
+ * Rows are read as projections, so nothing accumulates in the persistence
+ * context and memory stays flat however long the history is.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionExportService {
+    private final TransactionRepository transactionRepository;
+    private final ObjectMapper objectMapper;
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void export(Long userId, Format format, LocalDateTime start, LocalDateTime end, TransactionType type, OutputStream out) throws IOException {
+        try (Stream<TransactionRepository.ExportRow> rows = transactionRepository.streamForExport(
+                userId,
+                start != null ? start : TransactionService.EARLIEST,
+                end != null ? end : TransactionService.LATEST,
+                type)) {
+            if (format == Format.CSV) {
+                writeCsv(rows.iterator(), out);
+            } else {
+                writeNdjson(rows.iterator(), out);
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<TransactionRepository.ExportRow> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("id,date,type,category,amount,note\n");
+        while (rows.hasNext()) {
+            TransactionRepository.ExportRow row = rows.next();
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writer.write(row.getDate() != null ? row.getDate().toString() : "");
+            writer.write(',');
+            writer.write(row.getType() != null ? row.getType().name() : "");
+            writer.write(',');
+            writer.write(csvField(row.getCategoryName()));
+            writer.write(',');
+            writer.write(row.getAmount().toPlainString());
+            writer.write(',');
+            writer.write(csvField(row.getNote()));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private void writeNdjson(Iterator<TransactionRepository.ExportRow> rows, OutputStream out) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        // Keep the caller's stream open for the gzip trailer
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // One object per line, with no separator beyond the newline written below
+        json.setRootValueSeparator(null);
+        while (rows.hasNext()) {
+            TransactionRepository.ExportRow row = rows.next();
+            json.writeStartObject();
+            json.writeNumberField("id", row.getId());
+            json.writeStringField("date", row.getDate() != null ? row.getDate().toString() : null);
+            json.writeStringField("type", row.getType() != null ? row.getType().name() : null);
+            json.writeStringField("category", row.getCategoryName());
+            json.writeNumberField("amount", row.getAmount());
+            json.writeStringField("note", row.getNote());
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+        json.close();
+    }
+
+    private String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        // A leading quote keeps spreadsheets from evaluating the text as a formula
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
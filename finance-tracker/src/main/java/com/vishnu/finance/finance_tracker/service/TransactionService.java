@@ -1,27 +1,76 @@
 package com.vishnu.finance.finance_tracker.service;
 
+import com.vishnu.finance.finance_tracker.dto.ImportErrorDTO;
+import com.vishnu.finance.finance_tracker.dto.ImportResultDTO;
 import com.vishnu.finance.finance_tracker.dto.TransactionDTO;
+import com.vishnu.finance.finance_tracker.dto.TransactionFilterDTO;
+import com.vishnu.finance.finance_tracker.dto.TransactionPageDTO;
 import com.vishnu.finance.finance_tracker.entity.Category;
 import com.vishnu.finance.finance_tracker.entity.Transaction;
 import com.vishnu.finance.finance_tracker.entity.TransactionType;
 import com.vishnu.finance.finance_tracker.entity.User;
 import com.vishnu.finance.finance_tracker.repository.CategoryRepository;
 import com.vishnu.finance.finance_tracker.repository.TransactionRepository;
+import com.vishnu.finance.finance_tracker.repository.TransactionSpecifications;
 import com.vishnu.finance.finance_tracker.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.io.Reader;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 @RequiredArgsConstructor
 public class TransactionService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    // Open bounds used when a request has no date range (MySQL DATETIME limits)
+    static final LocalDateTime EARLIEST = LocalDateTime.of(1000, 1, 1, 0, 0);
+    static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
     private final TransactionRepository transactionRepository;
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
+    private final MonthlySummaryService monthlySummaryService;
+    private final BalanceService balanceService;
+    private final LedgerStore ledgerStore;
+    private final NoteSearchIndex noteSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.import.chunk-size:500}")
+    private int importChunkSize;
+
+    @PostConstruct
+    void checkImportChunkSize() {
+        if (importChunkSize < 1) {
+            throw new IllegalStateException("app.import.chunk-size must be at least 1, got " + importChunkSize);
+        }
+    }
 
+    @Transactional
     public TransactionDTO createTransaction(Long userId, TransactionDTO dto) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -38,45 +87,257 @@ public class TransactionService {
         transaction.setDate(dto.getDate() != null ? dto.getDate() : LocalDateTime.now());
 
         Transaction saved = transactionRepository.save(transaction);
+        monthlySummaryService.add(saved);
+        balanceService.add(saved);
+        noteSearchIndex.add(saved);
+        ledgerStore.saved(saved);
+        eventPublisher.publishEvent(new LedgerChangedEvent(userId));
         return convertToDTO(saved);
     }
 
+    /**
+     * Imports many transactions at once. Categories are validated against a single
+     * lookup of the user's categories, and valid rows are inserted in JDBC batches,
+     * committing every {@code app.import.chunk-size} rows. Invalid rows, and every
+     * row of a chunk that fails to commit, are reported by 1-based row number.
+     */
+    public ImportResultDTO importTransactions(Long userId, List<TransactionDTO> rows) {
+        List<ImportErrorDTO> errors = new ArrayList<>();
+        List<Transaction> valid = new ArrayList<>();
+        List<Integer> validRowNumbers = new ArrayList<>();
+
+        Map<Long, Category> categoriesById = new HashMap<>();
+        Map<String, Category> categoriesByName = new HashMap<>();
+        for (Category category : categoryRepository.findByUserId(userId)) {
+            categoriesById.put(category.getId(), category);
+            categoriesByName.putIfAbsent(category.getName().toLowerCase(Locale.ROOT), category);
+        }
+
+        for (int i = 0; i < rows.size(); i++) {
+            TransactionDTO dto = rows.get(i);
+            if (dto == null) {
+                errors.add(new ImportErrorDTO(i + 1, "Row is empty"));
+                continue;
+            }
+            try {
+                valid.add(toImportedTransaction(dto, categoriesById, categoriesByName));
+                validRowNumbers.add(i + 1);
+            } catch (RuntimeException ex) {
+                errors.add(new ImportErrorDTO(i + 1, ex.getMessage()));
+            }
+        }
+
+        int imported = 0;
+        for (int from = 0; from < valid.size(); from += importChunkSize) {
+            int to = Math.min(from + importChunkSize, valid.size());
+            List<Transaction> chunk = valid.subList(from, to);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    User user = userRepository.getReferenceById(userId);
+                    for (Transaction transaction : chunk) {
+                        transaction.setUser(user);
+                        transaction.setCategory(categoryRepository.getReferenceById(transaction.getCategory().getId()));
+                    }
+                    transactionRepository.saveAll(chunk);
+                    monthlySummaryService.addAll(chunk);
+                    balanceService.addAll(chunk);
+                    noteSearchIndex.addAll(chunk);
+                    ledgerStore.invalidate(userId);
+                    eventPublisher.publishEvent(new LedgerChangedEvent(userId));
+                });
+                imported += chunk.size();
+            } catch (RuntimeException ex) {
+                for (int row : validRowNumbers.subList(from, to)) {
+                    errors.add(new ImportErrorDTO(row, "Not saved: " + ex.getMessage()));
+                }
+            }
+        }
+
+        errors.sort(Comparator.comparingInt(ImportErrorDTO::getRow));
+        return new ImportResultDTO(imported, errors.size(), errors);
+    }
+
+    /**
+     * Imports a CSV file whose header names the columns {@code date}, {@code type},
+     * {@code amount}, {@code note} and either {@code categoryId} or {@code category}
+     * (a category name). Row numbers in the result count data rows from 1.
+     * Unreadable rows are passed on as empty ones and reported with the parse error.
+     */
+    public ImportResultDTO importCsv(Long userId, Reader reader) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return new ImportResultDTO(0, 0, List.of());
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+
+        List<TransactionDTO> rows = new ArrayList<>();
+        Map<Integer, String> unreadable = new HashMap<>();
+        for (List<String> record = csv.next(); record != null; record = csv.next()) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            try {
+                TransactionDTO dto = new TransactionDTO();
+                String categoryId = column(record, columns, "categoryid");
+                dto.setCategoryId(categoryId != null ? Long.valueOf(categoryId) : null);
+                dto.setCategoryName(column(record, columns, "category"));
+                String amount = column(record, columns, "amount");
+                dto.setAmount(amount != null ? new BigDecimal(amount) : null);
+                dto.setType(column(record, columns, "type"));
+                dto.setNote(column(record, columns, "note"));
+                String date = column(record, columns, "date");
+                dto.setDate(date != null ? LocalDateTime.parse(date) : null);
+                rows.add(dto);
+            } catch (RuntimeException ex) {
+                rows.add(null);
+                unreadable.put(rows.size(), "Unreadable row: " + ex.getMessage());
+            }
+        }
+
+        ImportResultDTO result = importTransactions(userId, rows);
+        for (ImportErrorDTO error : result.getErrors()) {
+            error.setMessage(unreadable.getOrDefault(error.getRow(), error.getMessage()));
+        }
+        return result;
+    }
+
+    @Transactional(readOnly = true)
     public List<TransactionDTO> getUserTransactions(Long userId) {
-        return transactionRepository.findByUserId(userId)
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return transactionRepository.findByUserId(userId);
     }
 
+    @Transactional(readOnly = true)
     public List<TransactionDTO> getTransactionsByDateRange(Long userId, LocalDateTime start, LocalDateTime end) {
-        return transactionRepository.findByUserIdAndDateBetween(userId, start, end)
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return transactionRepository.findByUserIdAndDateBetween(userId, start, end);
     }
 
+    /**
+     * Returns one page of the user's transactions, newest first, ordered by (date, id).
+     * Pages are fetched by seeking past the cursor rather than with an offset, so every
+     * page costs the same. Start and end are inclusive and optional.
+     */
+    @Transactional(readOnly = true)
+    public TransactionPageDTO getTransactionPage(Long userId, String cursor, int size, LocalDateTime start, LocalDateTime end) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new RuntimeException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        LocalDateTime beforeDate = end != null ? end : LATEST;
+        Long beforeId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            Transaction position = decodeCursor(cursor);
+            beforeDate = position.getDate();
+            beforeId = position.getId();
+        }
+
+        // One extra row tells us whether another page follows without a count query
+        List<TransactionDTO> items = transactionRepository.findPageBefore(
+                userId, start != null ? start : EARLIEST, beforeDate, beforeId, Limit.of(size + 1));
+        boolean hasMore = items.size() > size;
+        if (hasMore) {
+            items = items.subList(0, size);
+        }
+
+        String nextCursor = hasMore ? encodeCursor(items.get(items.size() - 1)) : null;
+        return new TransactionPageDTO(items, nextCursor, hasMore);
+    }
+
+    /**
+     * Transactions whose note has a word starting with each word of the query,
+     * most recently created first. Matching runs against the in-process note
+     * index, so only the matched rows are read from the database. No
+     * transaction is open while a cold index loads; see {@link NoteSearchIndex}.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public List<TransactionDTO> searchNotes(Long userId, String query, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new RuntimeException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        long[] ids = noteSearchIndex.search(userId, query, limit);
+        if (ids.length == 0) {
+            return List.of();
+        }
+        return transactionRepository.findByUserIdAndIdIn(userId, Arrays.stream(ids).boxed().toList());
+    }
+
+    /**
+     * One page of the user's transactions matching every criterion the filter
+     * sets, ordered by date (the default) or amount, then id. The criteria are
+     * composed into a single query that always starts from user_id, and pages
+     * are fetched by seeking past the cursor, at most MAX_PAGE_SIZE rows each.
+     * As in {@link #getTransactionPage}, rows without a date are left out of
+     * the date sort; the amount sort includes them.
+     */
+    @Transactional(readOnly = true)
+    public TransactionPageDTO queryTransactions(Long userId, TransactionFilterDTO filter) {
+        int size = filter.getSize() != null ? filter.getSize() : DEFAULT_PAGE_SIZE;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new RuntimeException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (filter.getStart() != null && filter.getEnd() != null && filter.getStart().isAfter(filter.getEnd())) {
+            throw new RuntimeException("start must not be after end");
+        }
+        if (filter.getMinAmount() != null && filter.getMaxAmount() != null
+                && filter.getMinAmount().compareTo(filter.getMaxAmount()) > 0) {
+            throw new RuntimeException("minAmount must not be above maxAmount");
+        }
+        QuerySort sort = QuerySort.parse(filter.getSort());
+        List<TransactionType> types = filter.getTypes() == null ? null : filter.getTypes().stream()
+                .map(type -> TransactionType.valueOf(type.trim().toUpperCase(Locale.ROOT)))
+                .toList();
+
+        List<Specification<Transaction>> criteria = new ArrayList<>();
+        criteria.add(TransactionSpecifications.forUser(userId));
+        // The seek condition cannot step past a null date, so the date sort starts at EARLIEST
+        LocalDateTime start = filter.getStart() == null && sort.attribute().equals("date") ? EARLIEST : filter.getStart();
+        criteria.add(TransactionSpecifications.dateBetween(start, filter.getEnd()));
+        criteria.add(TransactionSpecifications.typeIn(types));
+        criteria.add(TransactionSpecifications.categoryIn(filter.getCategoryIds()));
+        criteria.add(TransactionSpecifications.amountBetween(filter.getMinAmount(), filter.getMaxAmount()));
+        criteria.add(TransactionSpecifications.noteContains(filter.getNote()));
+        if (filter.getCursor() != null && !filter.getCursor().isBlank()) {
+            criteria.add(decodeQueryCursor(filter.getCursor(), sort));
+        }
+
+        // One extra row tells us whether another page follows without a count query
+        Sort order = Sort.by(sort.ascending() ? Sort.Direction.ASC : Sort.Direction.DESC, sort.attribute(), "id");
+        List<Transaction> rows = transactionRepository.findBy(Specification.allOf(criteria),
+                query -> query.sortBy(order).project("category").limit(size + 1).all());
+        boolean hasMore = rows.size() > size;
+        List<TransactionDTO> items = rows.stream().limit(size).map(this::convertToDTO).toList();
+
+        String nextCursor = hasMore ? encodeQueryCursor(items.get(items.size() - 1), sort) : null;
+        return new TransactionPageDTO(items, nextCursor, hasMore);
+    }
+
+    @Transactional(readOnly = true)
     public List<TransactionDTO> getTransactionsByType(Long userId, String type) {
         TransactionType transactionType = TransactionType.valueOf(type.toUpperCase());
-        return transactionRepository.findByUserIdAndType(userId, transactionType)
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return transactionRepository.findByUserIdAndType(userId, transactionType);
     }
 
+    @Transactional(readOnly = true)
     public BigDecimal getTotalByType(Long userId, String type) {
         TransactionType transactionType = TransactionType.valueOf(type.toUpperCase());
         BigDecimal total = transactionRepository.sumByUserAndType(userId, transactionType);
         return total != null ? total : BigDecimal.ZERO;
     }
 
+    @Transactional
     public TransactionDTO updateTransaction(Long userId, Long transactionId, TransactionDTO dto) {
-        Transaction transaction = transactionRepository.findById(transactionId)
+        Transaction transaction = transactionRepository.findWithCategoryById(transactionId)
                 .orElseThrow(() -> new RuntimeException("Transaction not found"));
         
         if (!transaction.getUser().getId().equals(userId)) {
             throw new RuntimeException("Unauthorized");
         }
 
+        Transaction before = snapshot(transaction);
+
         if (dto.getAmount() != null) transaction.setAmount(dto.getAmount());
         if (dto.getType() != null) transaction.setType(TransactionType.valueOf(dto.getType()));
         if (dto.getNote() != null) transaction.setNote(dto.getNote());
@@ -87,9 +348,15 @@ public class TransactionService {
         }
 
         Transaction updated = transactionRepository.save(transaction);
+        monthlySummaryService.replace(before, updated);
+        balanceService.replace(before, updated);
+        noteSearchIndex.replace(before, updated);
+        ledgerStore.saved(updated);
+        eventPublisher.publishEvent(new LedgerChangedEvent(userId));
         return convertToDTO(updated);
     }
 
+    @Transactional
     public void deleteTransaction(Long userId, Long transactionId) {
         Transaction transaction = transactionRepository.findById(transactionId)
                 .orElseThrow(() -> new RuntimeException("Transaction not found"));
@@ -98,7 +365,112 @@ public class TransactionService {
             throw new RuntimeException("Unauthorized");
         }
 
+        monthlySummaryService.remove(transaction);
+        balanceService.remove(transaction);
+        noteSearchIndex.remove(transaction);
+        ledgerStore.removed(transaction);
         transactionRepository.deleteById(transactionId);
+        eventPublisher.publishEvent(new LedgerChangedEvent(userId));
+    }
+
+    private Transaction toImportedTransaction(TransactionDTO dto, Map<Long, Category> categoriesById, Map<String, Category> categoriesByName) {
+        Category category;
+        if (dto.getCategoryId() != null) {
+            category = categoriesById.get(dto.getCategoryId());
+        } else if (dto.getCategoryName() != null) {
+            category = categoriesByName.get(dto.getCategoryName().toLowerCase(Locale.ROOT));
+        } else {
+            throw new RuntimeException("Category is required");
+        }
+        if (category == null) {
+            throw new RuntimeException("Category not found");
+        }
+        if (dto.getAmount() == null) {
+            throw new RuntimeException("Amount is required");
+        }
+        if (dto.getType() == null) {
+            throw new RuntimeException("Type is required");
+        }
+
+        TransactionType type;
+        try {
+            type = TransactionType.valueOf(dto.getType().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new RuntimeException("Invalid type: " + dto.getType());
+        }
+
+        Transaction transaction = new Transaction();
+        transaction.setCategory(category);
+        transaction.setAmount(dto.getAmount());
+        transaction.setType(type);
+        transaction.setNote(dto.getNote());
+        transaction.setDate(dto.getDate() != null ? dto.getDate() : LocalDateTime.now());
+        return transaction;
+    }
+
+    private String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size() || record.get(index).isBlank()) {
+            return null;
+        }
+        return record.get(index).trim();
+    }
+
+    private String encodeCursor(TransactionDTO last) {
+        String position = last.getDate() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Transaction decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf('|');
+            Transaction transaction = new Transaction();
+            transaction.setDate(LocalDateTime.parse(position.substring(0, separator)));
+            transaction.setId(Long.parseLong(position.substring(separator + 1)));
+            return transaction;
+        } catch (RuntimeException ex) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    // The cursor repeats the sort, so a page cannot be continued in another order
+    private String encodeQueryCursor(TransactionDTO last, QuerySort sort) {
+        Object key = sort.attribute().equals("date") ? last.getDate() : last.getAmount().toPlainString();
+        String position = sort + "|" + key + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Specification<Transaction> decodeQueryCursor(String cursor, QuerySort sort) {
+        String[] position;
+        try {
+            position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+        } catch (IllegalArgumentException ex) {
+            throw new RuntimeException("Invalid cursor");
+        }
+        if (position.length != 3 || !position[0].equals(sort.toString())) {
+            throw new RuntimeException("Invalid cursor");
+        }
+        try {
+            Long id = Long.parseLong(position[2]);
+            return sort.attribute().equals("date")
+                    ? TransactionSpecifications.after("date", sort.ascending(), LocalDateTime.parse(position[1]), id)
+                    : TransactionSpecifications.after("amount", sort.ascending(), new BigDecimal(position[1]), id);
+        } catch (RuntimeException ex) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    // Detached copy of the fields the rollups and the note index are keyed on
+    private Transaction snapshot(Transaction transaction) {
+        Transaction copy = new Transaction();
+        copy.setUser(transaction.getUser());
+        copy.setCategory(transaction.getCategory());
+        copy.setAmount(transaction.getAmount());
+        copy.setType(transaction.getType());
+        copy.setDate(transaction.getDate());
+        copy.setNote(transaction.getNote());
+        return copy;
     }
 
     private TransactionDTO convertToDTO(Transaction transaction) {
@@ -113,4 +485,26 @@ public class TransactionService {
                 transaction.getDate()
         );
     }
+
+    // Sort of a transaction query: "date" or "amount", then ",asc" or ",desc" (the default)
+    private record QuerySort(String attribute, boolean ascending) {
+        static QuerySort parse(String sort) {
+            if (sort == null || sort.isBlank()) {
+                return new QuerySort("date", false);
+            }
+            String[] parts = sort.toLowerCase(Locale.ROOT).split(",");
+            String attribute = parts[0].trim();
+            String direction = parts.length > 1 ? parts[1].trim() : "desc";
+            if (parts.length > 2 || !(attribute.equals("date") || attribute.equals("amount"))
+                    || !(direction.equals("asc") || direction.equals("desc"))) {
+                throw new RuntimeException("Invalid sort: " + sort);
+            }
+            return new QuerySort(attribute, direction.equals("asc"));
+        }
+
+        @Override
+        public String toString() {
+            return attribute + (ascending ? ",asc" : ",desc");
+        }
+    }
 }
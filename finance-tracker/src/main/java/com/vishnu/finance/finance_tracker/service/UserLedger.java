@@ -0,0 +1,334 @@
+package com.vishnu.finance.finance_tracker.service;
+
+import com.vishnu.finance.finance_tracker.dto.DashboardDTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One user's transactions held column by column in primitive arrays, sorted
+ * by date: epoch days, amounts in {@link Money} minor units, a category slot per row and a
+ * bitset of which rows are expenses. Category slots index the small dictionary
+ * of the user's categories captured at load time.
+ *
+ * <p>Date ranges are found by binary search and aggregated in a single pass.
+ * The calculations allocate only their result, plus one accumulator per
+ * category for the dashboard. Readers share a read lock; the rare mutations
+ * take the write lock and shift the columns in place.
+ *
+ * <p>Rows without a type, which only appear when written outside the API,
+ * count towards neither total; only their ids are kept, so the dashboard's
+ * transaction count still includes them as the SQL count does.
+ */
+public final class UserLedger {
+    // Rows without a date sort first and fall outside every date range
+    static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int NO_CATEGORY = -1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Money money;
+    private final long[] categoryIds;
+    private final String[] categoryNames;
+
+    private int size;
+    private long[] ids;
+    private int[] days;
+    private long[] amounts;
+    private int[] categories;
+    private long[] expenses;
+    private long[] untypedIds = new long[0];
+
+    UserLedger(int capacity, Money money, long[] categoryIds, String[] categoryNames) {
+        this.money = money;
+        this.categoryIds = categoryIds;
+        this.categoryNames = categoryNames;
+        allocate(Math.max(capacity, 16));
+    }
+
+    static int epochDay(LocalDateTime date) {
+        return date != null ? (int) date.toLocalDate().toEpochDay() : NO_DATE;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Load path: rows arrive already ordered by date
+    void append(long id, int epochDay, long amountMinor, Long categoryId, boolean expense) {
+        if (size == ids.length) {
+            allocate(size * 2);
+        }
+        set(size, id, epochDay, amountMinor, slotOf(categoryId), expense);
+        size++;
+    }
+
+    // Load path for a row without a type
+    void appendUntyped(long id) {
+        untypedIds = Arrays.copyOf(untypedIds, untypedIds.length + 1);
+        untypedIds[untypedIds.length - 1] = id;
+    }
+
+    /**
+     * Inserts the row, or moves it to its new date if the id is already held.
+     * Returns false when the category is not in the dictionary, in which case
+     * the ledger is left unchanged and should be reloaded.
+     */
+    boolean upsert(long id, int epochDay, long amountMinor, Long categoryId, boolean expense) {
+        int slot = slotOf(categoryId);
+        if (categoryId != null && slot == NO_CATEGORY) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            int existing = indexOf(id);
+            if (existing >= 0) {
+                removeAt(existing);
+            }
+            removeUntyped(id);
+            if (size == ids.length) {
+                allocate(size * 2);
+            }
+            int at = upperBound(epochDay);
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            System.arraycopy(days, at, days, at + 1, size - at);
+            System.arraycopy(amounts, at, amounts, at + 1, size - at);
+            System.arraycopy(categories, at, categories, at + 1, size - at);
+            insertBit(at);
+            set(at, id, epochDay, amountMinor, slot, expense);
+            size++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int index = indexOf(id);
+            if (index >= 0) {
+                removeAt(index);
+            }
+            removeUntyped(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The dashboard for {@code current}: income and expense totals, expenses
+     * per category name, and income for each of the twelve months ending with
+     * {@code current}. Rows without a date or category are counted but not
+     * totalled, matching the figures read from the rollup.
+     */
+    public DashboardDTO dashboard(YearMonth current) {
+        YearMonth first = current.minusMonths(11);
+        lock.readLock().lock();
+        try {
+            long income = 0;
+            long expense = 0;
+            boolean anyIncome = false;
+            boolean anyExpense = false;
+            long[] byCategory = new long[categoryIds.length];
+            boolean[] seen = new boolean[categoryIds.length];
+            for (int i = 0; i < size; i++) {
+                int slot = categories[i];
+                if (days[i] == NO_DATE || slot == NO_CATEGORY) {
+                    continue;
+                }
+                if (isExpense(i)) {
+                    expense = Money.add(expense, amounts[i]);
+                    anyExpense = true;
+                    byCategory[slot] = Money.add(byCategory[slot], amounts[i]);
+                    seen[slot] = true;
+                } else {
+                    income = Money.add(income, amounts[i]);
+                    anyIncome = true;
+                }
+            }
+
+            Map<String, BigDecimal> categoryExpenses = new HashMap<>();
+            for (int slot = 0; slot < categoryIds.length; slot++) {
+                if (seen[slot]) {
+                    categoryExpenses.merge(categoryNames[slot], money.toDecimal(byCategory[slot]), BigDecimal::add);
+                }
+            }
+
+            Map<String, BigDecimal> monthlyData = new HashMap<>();
+            YearMonth month = first;
+            int from = lowerBound((int) first.atDay(1).toEpochDay());
+            for (int m = 0; m < 12; m++, month = month.plusMonths(1)) {
+                int to = lowerBound((int) month.plusMonths(1).atDay(1).toEpochDay());
+                long total = 0;
+                boolean any = false;
+                for (int i = from; i < to; i++) {
+                    if (!isExpense(i) && categories[i] != NO_CATEGORY) {
+                        total = Money.add(total, amounts[i]);
+                        any = true;
+                    }
+                }
+                monthlyData.put(month.toString(), any ? money.toDecimal(total) : BigDecimal.ZERO);
+                from = to;
+            }
+
+            BigDecimal totalIncome = anyIncome ? money.toDecimal(income) : BigDecimal.ZERO;
+            BigDecimal totalExpense = anyExpense ? money.toDecimal(expense) : BigDecimal.ZERO;
+            return new DashboardDTO(totalIncome, totalExpense, totalIncome.subtract(totalExpense),
+                    categoryExpenses, monthlyData, size + untypedIds.length);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Expenses booked to the category during the month, in minor units
+    public long spent(long categoryId, YearMonth month) {
+        lock.readLock().lock();
+        try {
+            int slot = slotOf(categoryId);
+            if (slot == NO_CATEGORY) {
+                return 0;
+            }
+            int from = lowerBound((int) month.atDay(1).toEpochDay());
+            int to = lowerBound((int) month.plusMonths(1).atDay(1).toEpochDay());
+            long total = 0;
+            for (int i = from; i < to; i++) {
+                if (categories[i] == slot && isExpense(i)) {
+                    total = Money.add(total, amounts[i]);
+                }
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int slotOf(Long categoryId) {
+        if (categoryId == null) {
+            return NO_CATEGORY;
+        }
+        for (int slot = 0; slot < categoryIds.length; slot++) {
+            if (categoryIds[slot] == categoryId) {
+                return slot;
+            }
+        }
+        return NO_CATEGORY;
+    }
+
+    private int indexOf(long id) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // First row dated on or after the day
+    private int lowerBound(int epochDay) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (days[mid] < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First row dated after the day
+    private int upperBound(int epochDay) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (days[mid] <= epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void set(int index, long id, int epochDay, long amountMinor, int slot, boolean expense) {
+        ids[index] = id;
+        days[index] = epochDay;
+        amounts[index] = amountMinor;
+        categories[index] = slot;
+        if (expense) {
+            expenses[index >>> 6] |= 1L << index;
+        } else {
+            expenses[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    private void removeAt(int index) {
+        int tail = size - index - 1;
+        System.arraycopy(ids, index + 1, ids, index, tail);
+        System.arraycopy(days, index + 1, days, index, tail);
+        System.arraycopy(amounts, index + 1, amounts, index, tail);
+        System.arraycopy(categories, index + 1, categories, index, tail);
+        removeBit(index);
+        size--;
+    }
+
+    private void removeUntyped(long id) {
+        for (int i = 0; i < untypedIds.length; i++) {
+            if (untypedIds[i] == id) {
+                long[] rest = new long[untypedIds.length - 1];
+                System.arraycopy(untypedIds, 0, rest, 0, i);
+                System.arraycopy(untypedIds, i + 1, rest, i, rest.length - i);
+                untypedIds = rest;
+                return;
+            }
+        }
+    }
+
+    private boolean isExpense(int index) {
+        return (expenses[index >>> 6] & 1L << index) != 0;
+    }
+
+    // Shifts the bits at and above index up by one; size is below capacity
+    private void insertBit(int index) {
+        int word = index >>> 6;
+        for (int w = size >>> 6; w > word; w--) {
+            expenses[w] = expenses[w] << 1 | expenses[w - 1] >>> 63;
+        }
+        long above = -1L << index;
+        expenses[word] = expenses[word] & ~above | (expenses[word] & above) << 1;
+    }
+
+    // Shifts the bits above index down by one and clears the vacated top bit
+    private void removeBit(int index) {
+        int word = index >>> 6;
+        int last = (size - 1) >>> 6;
+        long above = -1L << index;
+        expenses[word] = expenses[word] & ~above | (expenses[word] >>> 1) & above;
+        for (int w = word; w < last; w++) {
+            expenses[w] |= (expenses[w + 1] & 1L) << 63;
+            expenses[w + 1] >>>= 1;
+        }
+    }
+
+    private void allocate(int capacity) {
+        ids = ids == null ? new long[capacity] : Arrays.copyOf(ids, capacity);
+        days = days == null ? new int[capacity] : Arrays.copyOf(days, capacity);
+        amounts = amounts == null ? new long[capacity] : Arrays.copyOf(amounts, capacity);
+        categories = categories == null ? new int[capacity] : Arrays.copyOf(categories, capacity);
+        int words = (capacity + 63) >>> 6;
+        expenses = expenses == null ? new long[words] : Arrays.copyOf(expenses, words);
+    }
+}
@@ -0,0 +1,51 @@
+-- Schema as previously created by spring.jpa.hibernate.ddl-auto=update.
+-- Existing databases are baselined at this version and skip this script.
+
+create table users (
+    id bigint not null auto_increment,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    username varchar(255) not null,
+    primary key (id)
+);
+
+create table categories (
+    id bigint not null auto_increment,
+    user_id bigint,
+    description varchar(500),
+    name varchar(255) not null,
+    type enum ('EXPENSE','INCOME') not null,
+    primary key (id)
+);
+
+create table transactions (
+    amount decimal(38,2) not null,
+    category_id bigint,
+    date datetime(6),
+    id bigint not null auto_increment,
+    user_id bigint,
+    note varchar(255),
+    type enum ('EXPENSE','INCOME'),
+    primary key (id)
+);
+
+create table budgets (
+    budget_amount decimal(38,2) not null,
+    category_id bigint not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    month varbinary(255) not null,
+    primary key (id)
+);
+
+alter table users add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table users add constraint UKr43af9ap4edm43mmtq01oddj6 unique (username);
+
+alter table categories add constraint FKghuylkwuedgl2qahxjt8g41kb foreign key (user_id) references users (id);
+
+alter table transactions add constraint FKqwv7rmvc8va8rep7piikrojds foreign key (user_id) references users (id);
+alter table transactions add constraint FKsqqi7sneo04kast0o138h19mv foreign key (category_id) references categories (id);
+
+alter table budgets add constraint FKln0tm5tgf3f9q3sp9sa5m8m7b foreign key (user_id) references users (id);
+alter table budgets add constraint FKn7qib00712y8dwelmqfwis6ka foreign key (category_id) references categories (id);
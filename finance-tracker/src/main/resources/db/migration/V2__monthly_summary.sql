@@ -0,0 +1,22 @@
+create table monthly_summary (
+    total_amount decimal(38,2) not null,
+    period varchar(7) not null,
+    category_id bigint not null,
+    id bigint not null auto_increment,
+    transaction_count bigint not null,
+    user_id bigint not null,
+    type enum ('EXPENSE','INCOME') not null,
+    primary key (id)
+);
+
+alter table monthly_summary add constraint UK4cy7yrwhvco888ks52f48tfek unique (user_id, category_id, type, period);
+alter table monthly_summary add constraint FK8yydtl63swtlkawsaw2hc1y8y foreign key (user_id) references users (id);
+alter table monthly_summary add constraint FK4myromduyvmhjmr97pnbhy2co foreign key (category_id) references categories (id);
+
+-- Seed the rollup from the existing rows. Rows without a user, category,
+-- type or date have no key and are left out, as MonthlySummaryService does.
+insert into monthly_summary (user_id, category_id, type, period, total_amount, transaction_count)
+select user_id, category_id, type, concat(year(date), '-', lpad(month(date), 2, '0')), sum(amount), count(*)
+from transactions
+where user_id is not null and category_id is not null and type is not null and date is not null
+group by user_id, category_id, type, concat(year(date), '-', lpad(month(date), 2, '0'));
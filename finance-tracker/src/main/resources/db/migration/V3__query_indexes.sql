@@ -0,0 +1,11 @@
+-- Every read is scoped to one user, so user_id leads each index and the
+-- column the query ranges or sorts on comes last.
+
+create index idx_transactions_user_date on transactions (user_id, date);
+create index idx_transactions_user_type_date on transactions (user_id, type, date);
+create index idx_transactions_user_category_date on transactions (user_id, category_id, date);
+
+create index idx_budgets_user_month on budgets (user_id, month);
+create index idx_budgets_user_category_month on budgets (user_id, category_id, month);
+
+create index idx_categories_user_type on categories (user_id, type);
@@ -0,0 +1,12 @@
+-- Pooled id blocks for transactions so inserts can be JDBC-batched.
+-- The first block handed out ends at next_val, so start one block past the
+-- highest existing id.
+
+create table id_generators (
+    name varchar(255) not null,
+    next_val bigint,
+    primary key (name)
+);
+
+insert into id_generators (name, next_val)
+select 'transactions', coalesce(max(id), 0) + 51 from transactions;
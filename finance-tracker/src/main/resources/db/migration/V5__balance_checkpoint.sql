@@ -0,0 +1,24 @@
+-- Balance at the end of each month a user has transactions in, cumulative
+-- over every earlier month. Maintained by BalanceService alongside writes.
+
+create table balance_checkpoint (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    period varchar(7) not null,
+    balance decimal(38,2) not null,
+    primary key (id)
+);
+
+alter table balance_checkpoint add constraint uk_balance_checkpoint_user_period unique (user_id, period);
+alter table balance_checkpoint add constraint fk_balance_checkpoint_user foreign key (user_id) references users (id);
+
+insert into balance_checkpoint (user_id, period, balance)
+select user_id, period, sum(net) over (partition by user_id order by period rows unbounded preceding)
+from (
+    select user_id,
+           concat(year(date), '-', lpad(month(date), 2, '0')) as period,
+           sum(case when type = 'INCOME' then amount when type = 'EXPENSE' then -amount else 0 end) as net
+    from transactions
+    where date is not null
+    group by user_id, concat(year(date), '-', lpad(month(date), 2, '0'))
+) monthly;
@@ -0,0 +1,4 @@
+-- Serves the amount sort of /transactions/query: the rows of one user in
+-- amount order, with the primary key breaking ties.
+
+create index idx_transactions_user_amount on transactions (user_id, amount);
@@ -0,0 +1,305 @@
+package com.vishnu.finance.finance_tracker.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishnu.finance.finance_tracker.dto.BudgetDTO;
+import com.vishnu.finance.finance_tracker.dto.CategoryDTO;
+import com.vishnu.finance.finance_tracker.dto.TransactionDTO;
+import com.vishnu.finance.finance_tracker.repository.UserRepository;
+import com.vishnu.finance.finance_tracker.service.BudgetService;
+import com.vishnu.finance.finance_tracker.service.CategoryService;
+import com.vishnu.finance.finance_tracker.service.TransactionService;
+import com.vishnu.finance.finance_tracker.service.UserService;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load driver. Boots the application on the embedded database,
+ * seeds users with categories, budgets and a transaction history, then has
+ * concurrent clients replay a weighted mix of API calls against the real HTTP
+ * stack. Each call type gets its own HDR histogram; a summary is printed and
+ * the full distributions are written to {@code target/loadtest/<call>.hgrm}.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dtest=ApiLoadBenchmarkTest}. Tune it with
+ * {@code -Dloadtest.users}, {@code .transactions} (per user), {@code .clients},
+ * {@code .seconds} and {@code .mix}, e.g. {@code login:5,page:20,create:15,update:10,delete:5,dashboard:30,budgets:15}.
+ * Clients are closed-loop: each waits for its response before sending the next.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=false"
+})
+class ApiLoadBenchmarkTest {
+    private static final int USERS = Integer.getInteger("loadtest.users", 50);
+    private static final int TRANSACTIONS = Integer.getInteger("loadtest.transactions", 500);
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 32);
+    private static final int SECONDS = Integer.getInteger("loadtest.seconds", 30);
+    private static final String MIX = System.getProperty("loadtest.mix",
+            "login:5,page:20,create:15,update:10,delete:5,dashboard:30,budgets:15");
+    private static final String PASSWORD = "load-test-password";
+
+    enum Call { LOGIN, PAGE, CREATE, UPDATE, DELETE, DASHBOARD, BUDGETS }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    void replayMixedTraffic() throws Exception {
+        List<SeededUser> users = seed();
+        Call[] schedule = schedule(MIX);
+        Map<Call, Histogram> histograms = new EnumMap<>(Call.class);
+        for (Call call : Call.values()) {
+            histograms.put(call, new ConcurrentHistogram(TimeUnit.MINUTES.toNanos(1), 3));
+        }
+
+        // A short unrecorded run first so JIT and pool warm-up stay out of the numbers
+        drive(users, schedule, Math.max(1, SECONDS / 5), null);
+        drive(users, schedule, SECONDS, histograms);
+
+        Path out = Path.of("target", "loadtest");
+        Files.createDirectories(out);
+        System.out.printf("%-10s %10s %9s %9s %9s %9s %9s%n", "call", "count", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<Call, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            System.out.printf("%-10s %,10d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey().name().toLowerCase(),
+                    histogram.getTotalCount(),
+                    histogram.getTotalCount() / (double) SECONDS,
+                    histogram.getValueAtPercentile(50) / 1e6,
+                    histogram.getValueAtPercentile(99) / 1e6,
+                    histogram.getValueAtPercentile(99.9) / 1e6,
+                    histogram.getMaxValue() / 1e6);
+            try (PrintStream file = new PrintStream(out.resolve(entry.getKey().name().toLowerCase() + ".hgrm").toFile())) {
+                histogram.outputPercentileDistribution(file, 1e6);
+            }
+        }
+    }
+
+    private void drive(List<SeededUser> users, Call[] schedule, int seconds, Map<Call, Histogram> histograms) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                SeededUser user = users.get(i % users.size());
+                running.add(clients.submit(() -> {
+                    Client client = new Client(user, login(user));
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        Call call = schedule[random.nextInt(schedule.length)];
+                        long start = System.nanoTime();
+                        client.perform(call);
+                        if (histograms != null) {
+                            histograms.get(call).recordValue(Math.min(System.nanoTime() - start, TimeUnit.MINUTES.toNanos(1)));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : running) {
+                future.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    // Expands "name:weight,..." into an array that can be sampled uniformly
+    private static Call[] schedule(String mix) {
+        List<Call> schedule = new ArrayList<>();
+        for (String part : mix.split(",")) {
+            String[] entry = part.trim().split(":");
+            Call call = Call.valueOf(entry[0].trim().toUpperCase());
+            for (int i = 0; i < Integer.parseInt(entry[1].trim()); i++) {
+                schedule.add(call);
+            }
+        }
+        return schedule.toArray(new Call[0]);
+    }
+
+    private List<SeededUser> seed() {
+        List<SeededUser> users = new ArrayList<>();
+        YearMonth now = YearMonth.now();
+        for (int u = 0; u < USERS; u++) {
+            String username = "load-user-" + u;
+            Long userId = userRepository.findByUsername(username)
+                    .orElseGet(() -> userService.register(username, username + "@load.example.com", PASSWORD))
+                    .getId();
+            List<CategoryDTO> categories = categoryService.getUserCategories(userId);
+            if (categories.isEmpty()) {
+                categories = seedLedger(userId, now);
+            }
+            users.add(new SeededUser(username, categories.stream().map(CategoryDTO::getId).toList()));
+        }
+        return users;
+    }
+
+    private List<CategoryDTO> seedLedger(Long userId, YearMonth now) {
+        List<CategoryDTO> categories = new ArrayList<>();
+        String[][] names = {{"Salary", "INCOME"}, {"Groceries", "EXPENSE"}, {"Rent", "EXPENSE"},
+                {"Transport", "EXPENSE"}, {"Dining", "EXPENSE"}, {"Utilities", "EXPENSE"}};
+        for (String[] name : names) {
+            categories.add(categoryService.createCategory(userId, new CategoryDTO(null, name[0], null, name[1])));
+        }
+        for (CategoryDTO category : categories.subList(1, categories.size())) {
+            for (int m = 0; m < 6; m++) {
+                BudgetDTO budget = new BudgetDTO();
+                budget.setCategoryId(category.getId());
+                budget.setBudgetAmount(new BigDecimal("400.00"));
+                budget.setMonth(now.minusMonths(m));
+                budgetService.createBudget(userId, budget);
+            }
+        }
+        List<TransactionDTO> rows = new ArrayList<>(TRANSACTIONS);
+        LocalDateTime start = now.minusMonths(11).atDay(1).atStartOfDay();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            CategoryDTO category = categories.get(i % categories.size());
+            TransactionDTO row = new TransactionDTO();
+            row.setCategoryId(category.getId());
+            row.setType(category.getType());
+            row.setAmount(BigDecimal.valueOf(500 + i % 20_000, 2));
+            row.setDate(start.plusHours(i * 8L % (330 * 24)));
+            rows.add(row);
+        }
+        transactionService.importTransactions(userId, rows);
+        return categories;
+    }
+
+    private String login(SeededUser user) throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/api/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        objectMapper.writeValueAsString(Map.of("username", user.username(), "password", PASSWORD))))
+                .build());
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private record SeededUser(String username, List<Long> categoryIds) {
+    }
+
+    /**
+     * One simulated user session. Update and delete only touch transactions
+     * this client created, so concurrent clients never race on the same row.
+     */
+    private class Client {
+        private final SeededUser user;
+        private final Deque<Long> created = new ArrayDeque<>();
+        private String token;
+
+        Client(SeededUser user, String token) {
+            this.user = user;
+            this.token = token;
+        }
+
+        void perform(Call call) throws Exception {
+            switch (call) {
+                case LOGIN -> token = login(user);
+                case PAGE -> send(authorized("/api/v1/transactions/page?size=50").GET().build());
+                case CREATE -> create();
+                case UPDATE -> {
+                    if (created.isEmpty()) {
+                        create();
+                    } else {
+                        send(authorized("/api/v1/transactions/" + created.peekLast())
+                                .header("Content-Type", "application/json")
+                                .PUT(HttpRequest.BodyPublishers.ofString("{\"amount\":" + amount() + "}"))
+                                .build());
+                    }
+                }
+                case DELETE -> {
+                    if (created.isEmpty()) {
+                        create();
+                    } else {
+                        send(authorized("/api/v1/transactions/" + created.pollFirst()).DELETE().build());
+                    }
+                }
+                case DASHBOARD -> send(authorized("/api/v1/dashboard").GET().build());
+                case BUDGETS -> send(authorized("/api/v1/budgets").GET().build());
+            }
+        }
+
+        private void create() throws Exception {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Long categoryId = user.categoryIds().get(random.nextInt(1, user.categoryIds().size()));
+            String body = objectMapper.writeValueAsString(Map.of(
+                    "categoryId", categoryId,
+                    "amount", amount(),
+                    "type", "EXPENSE",
+                    "note", "load test"));
+            JsonNode saved = objectMapper.readTree(send(authorized("/api/v1/transactions")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build()).body());
+            created.addLast(saved.get("id").asLong());
+        }
+
+        private BigDecimal amount() {
+            return BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(100, 20_000), 2);
+        }
+
+        private HttpRequest.Builder authorized(String path) {
+            return HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + token);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.vishnu.finance.finance_tracker.benchmark;
+
+import com.vishnu.finance.finance_tracker.dto.ImportResultDTO;
+import com.vishnu.finance.finance_tracker.dto.TransactionDTO;
+import com.vishnu.finance.finance_tracker.entity.Category;
+import com.vishnu.finance.finance_tracker.entity.TransactionType;
+import com.vishnu.finance.finance_tracker.entity.User;
+import com.vishnu.finance.finance_tracker.repository.CategoryRepository;
+import com.vishnu.finance.finance_tracker.repository.UserRepository;
+import com.vishnu.finance.finance_tracker.service.TransactionService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares rows per second of the one-at-a-time create path with the batched
+ * bulk import on the embedded database. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=false")
+class BulkImportBenchmarkTest {
+    private static final int ROWS = 5_000;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    void bulkImportVersusSingleInserts() {
+        Category warmupCategory = category("warmup");
+        transactionService.importTransactions(warmupCategory.getUser().getId(), rows(warmupCategory, 1_000));
+        for (TransactionDTO dto : rows(warmupCategory, 1_000)) {
+            transactionService.createTransaction(warmupCategory.getUser().getId(), dto);
+        }
+
+        Category single = category("single");
+        List<TransactionDTO> singleRows = rows(single, ROWS);
+        long singleStart = System.nanoTime();
+        for (TransactionDTO dto : singleRows) {
+            transactionService.createTransaction(single.getUser().getId(), dto);
+        }
+        long singleNanos = System.nanoTime() - singleStart;
+
+        Category bulk = category("bulk");
+        List<TransactionDTO> bulkRows = rows(bulk, ROWS);
+        long bulkStart = System.nanoTime();
+        ImportResultDTO result = transactionService.importTransactions(bulk.getUser().getId(), bulkRows);
+        long bulkNanos = System.nanoTime() - bulkStart;
+
+        assertEquals(ROWS, result.getImported());
+        System.out.printf("single inserts: %,d rows in %,d ms (%,.0f rows/s)%n",
+                ROWS, singleNanos / 1_000_000, ROWS / (singleNanos / 1e9));
+        System.out.printf("bulk import:    %,d rows in %,d ms (%,.0f rows/s)%n",
+                ROWS, bulkNanos / 1_000_000, ROWS / (bulkNanos / 1e9));
+    }
+
+    private Category category(String name) {
+        User user = new User();
+        user.setUsername("bench-" + name);
+        user.setEmail(name + "@bench.example.com");
+        user.setPassword("x");
+        user = userRepository.save(user);
+
+        Category category = new Category();
+        category.setName("Groceries");
+        category.setType(TransactionType.EXPENSE);
+        category.setUser(user);
+        return categoryRepository.save(category);
+    }
+
+    private List<TransactionDTO> rows(Category category, int count) {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0);
+        List<TransactionDTO> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            TransactionDTO dto = new TransactionDTO();
+            dto.setCategoryId(category.getId());
+            dto.setAmount(BigDecimal.valueOf(100 + i % 900, 2));
+            dto.setType(TransactionType.EXPENSE.name());
+            dto.setNote("row " + i);
+            dto.setDate(start.plusHours(i));
+            rows.add(dto);
+        }
+        return rows;
+    }
+}
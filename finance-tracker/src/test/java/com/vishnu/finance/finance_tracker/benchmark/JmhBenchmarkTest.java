@@ -0,0 +1,43 @@
+package com.vishnu.finance.finance_tracker.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks in this package and writes the results as JSON, by
+ * default to {@code target/jmh-results.json}. Run with {@code mvn test -Pjmh}.
+ *
+ * <ul>
+ *   <li>{@code -Djmh.include=Security} runs only benchmarks matching the regex</li>
+ *   <li>{@code -Djmh.param.transactions=1000,100000} overrides a {@code @Param}</li>
+ *   <li>{@code -Djmh.result=path.json} changes the results file</li>
+ *   <li>{@code -Djmh.prof=gc} adds JMH profilers, comma separated</li>
+ * </ul>
+ */
+@Tag("benchmark")
+class JmhBenchmarkTest {
+    private static final String PARAM_PREFIX = "jmh.param.";
+
+    @Test
+    void runBenchmarks() throws Exception {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(System.getProperty("jmh.include", JmhBenchmarkTest.class.getPackageName() + "\\..*"))
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("jmh.result", "target/jmh-results.json"));
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith(PARAM_PREFIX)) {
+                options.param(name.substring(PARAM_PREFIX.length()), System.getProperty(name).split(","));
+            }
+        }
+        for (String profiler : System.getProperty("jmh.prof", "").split(",")) {
+            if (!profiler.isBlank()) {
+                options.addProfiler(profiler.trim());
+            }
+        }
+        new Runner(options.build()).run();
+    }
+}
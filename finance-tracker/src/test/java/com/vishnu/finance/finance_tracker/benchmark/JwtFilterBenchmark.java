@@ -0,0 +1,71 @@
+package com.vishnu.finance.finance_tracker.benchmark;
+
+import com.vishnu.finance.finance_tracker.repository.UserRepository;
+import com.vishnu.finance.finance_tracker.security.JwtAuthenticationFilter;
+import com.vishnu.finance.finance_tracker.security.JwtUtil;
+import com.vishnu.finance.finance_tracker.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request in {@link JwtAuthenticationFilter}, with
+ * the verified-token cache on and off. Launched by {@link JmhBenchmarkTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+    private JwtAuthenticationFilter cached;
+    private JwtAuthenticationFilter uncached;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", "BenchmarkSecret");
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", 3_600_000L);
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+
+        cached = new JwtAuthenticationFilter(new VerifiedTokenCache(jwtUtil, 10_000), userRepository, new SimpleMeterRegistry());
+        uncached = new JwtAuthenticationFilter(new VerifiedTokenCache(jwtUtil, 0), userRepository, new SimpleMeterRegistry());
+
+        request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + jwtUtil.generateToken(42L, "benchmark"));
+    }
+
+    @Benchmark
+    public Object withCache() throws Exception {
+        return authenticate(cached);
+    }
+
+    @Benchmark
+    public Object withoutCache() throws Exception {
+        return authenticate(uncached);
+    }
+
+    private Object authenticate(JwtAuthenticationFilter filter) throws Exception {
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,157 @@
+package com.vishnu.finance.finance_tracker.benchmark;
+
+import com.vishnu.finance.finance_tracker.FinanceTrackerApplication;
+import com.vishnu.finance.finance_tracker.dto.BudgetDTO;
+import com.vishnu.finance.finance_tracker.entity.Category;
+import com.vishnu.finance.finance_tracker.entity.TransactionType;
+import com.vishnu.finance.finance_tracker.entity.User;
+import com.vishnu.finance.finance_tracker.repository.CategoryRepository;
+import com.vishnu.finance.finance_tracker.repository.UserRepository;
+import com.vishnu.finance.finance_tracker.service.AnalyticsService;
+import com.vishnu.finance.finance_tracker.service.BudgetService;
+import com.vishnu.finance.finance_tracker.service.DashboardService;
+import com.vishnu.finance.finance_tracker.service.LedgerChangedEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard aggregation in {@link DashboardService}, budget DTO assembly in
+ * {@link BudgetService} and a year-long daily series from
+ * {@link AnalyticsService}, against an embedded database holding one user's
+ * ledger spread over the last three years. The dashboard cache is cleared
+ * before every call so each one runs the queries, or with {@code ledgerStore}
+ * the in-memory ledger aggregation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class LedgerQueryBenchmark {
+    private static final int CATEGORIES = 20;
+    private static final int INCOME_CATEGORIES = 3;
+    private static final int MONTHS = 36;
+
+    @Param({"1000", "100000", "1000000"})
+    public int transactions;
+
+    @Param({"false", "true"})
+    public boolean ledgerStore;
+
+    private ConfigurableApplicationContext context;
+    private DashboardService dashboardService;
+    private BudgetService budgetService;
+    private AnalyticsService analyticsService;
+    private Long userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(FinanceTrackerApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:jmh;MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=MONTH,YEAR,VALUE",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN",
+                        "app.ledger.store.enabled=" + ledgerStore)
+                .run();
+        dashboardService = context.getBean(DashboardService.class);
+        budgetService = context.getBean(BudgetService.class);
+        analyticsService = context.getBean(AnalyticsService.class);
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object dashboard() {
+        dashboardService.onLedgerChanged(new LedgerChangedEvent(userId));
+        return dashboardService.getDashboard(userId);
+    }
+
+    @Benchmark
+    public Object budgets() {
+        return budgetService.getUserBudgets(userId);
+    }
+
+    @Benchmark
+    public Object dailySeries() {
+        return analyticsService.getSeries(userId, "day", null, null, null, null);
+    }
+
+    private void seed() {
+        User user = new User();
+        user.setUsername("jmh");
+        user.setEmail("jmh@example.com");
+        user.setPassword("x");
+        userId = context.getBean(UserRepository.class).save(user).getId();
+
+        CategoryRepository categoryRepository = context.getBean(CategoryRepository.class);
+        List<Category> categories = new ArrayList<>();
+        for (int c = 0; c < CATEGORIES; c++) {
+            Category category = new Category();
+            category.setName("Category " + c);
+            category.setType(c < INCOME_CATEGORIES ? TransactionType.INCOME : TransactionType.EXPENSE);
+            category.setUser(user);
+            categories.add(categoryRepository.save(category));
+        }
+
+        // One budget per expense category for each of the last twelve months
+        YearMonth now = YearMonth.now();
+        for (Category category : categories.subList(INCOME_CATEGORIES, CATEGORIES)) {
+            for (int m = 0; m < 12; m++) {
+                BudgetDTO budget = new BudgetDTO();
+                budget.setCategoryId(category.getId());
+                budget.setBudgetAmount(new BigDecimal("500.00"));
+                budget.setMonth(now.minusMonths(m));
+                budgetService.createBudget(userId, budget);
+            }
+        }
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        LocalDateTime start = now.minusMonths(MONTHS - 1).atDay(1).atStartOfDay();
+        long spanMinutes = MONTHS * 30L * 24 * 60;
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < transactions; i++) {
+            Category category = categories.get(i % CATEGORIES);
+            batch.add(new Object[]{
+                    userId,
+                    category.getId(),
+                    BigDecimal.valueOf(100 + i % 10_000, 2),
+                    category.getType().name(),
+                    Timestamp.valueOf(start.plusMinutes(i * spanMinutes / transactions)),
+                    i % 3 == 0 ? "note " + i : null
+            });
+            if (batch.size() == 10_000 || i == transactions - 1) {
+                jdbc.batchUpdate("insert into transactions (user_id, category_id, amount, type, date, note) values (?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        jdbc.execute("ANALYZE");
+    }
+}
@@ -0,0 +1,7 @@
+package com.vishnu.finance.finance_tracker.benchmark;
+
+/**
+ * Requests on Tomcat's default pool of platform worker threads.
+ */
+class PlatformThreadsLoadBenchmarkTest extends ThreadingLoadBenchmark {
+}
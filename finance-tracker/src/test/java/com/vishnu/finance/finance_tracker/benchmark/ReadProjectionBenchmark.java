@@ -0,0 +1,126 @@
+package com.vishnu.finance.finance_tracker.benchmark;
+
+import com.vishnu.finance.finance_tracker.FinanceTrackerApplication;
+import com.vishnu.finance.finance_tracker.dto.TransactionDTO;
+import com.vishnu.finance.finance_tracker.entity.Transaction;
+import com.vishnu.finance.finance_tracker.entity.TransactionType;
+import com.vishnu.finance.finance_tracker.service.TransactionService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The transaction list read two ways against the embedded database: hydrating
+ * managed entities and copying them into DTOs, as the service used to, versus
+ * the DTO projection query it runs now. Run with {@code -Djmh.prof=gc} to compare allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ReadProjectionBenchmark {
+    private static final int CATEGORIES = 20;
+
+    @Param({"1000", "100000", "1000000"})
+    public int transactions;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private TransactionService transactionService;
+    private final Long userId = 1L;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(FinanceTrackerApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:jmh_projection;MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=MONTH,YEAR,VALUE",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN")
+                .run();
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        transactionService = context.getBean(TransactionService.class);
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TransactionDTO> entities() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            List<Transaction> rows = entityManager
+                    .createQuery("SELECT t FROM Transaction t WHERE t.user.id = :userId", Transaction.class)
+                    .setParameter("userId", userId)
+                    .getResultList();
+            List<TransactionDTO> dtos = new ArrayList<>(rows.size());
+            for (Transaction t : rows) {
+                dtos.add(new TransactionDTO(t.getId(), t.getUser().getId(), t.getCategory().getId(), t.getCategory().getName(),
+                        t.getAmount(), t.getType().toString(), t.getNote(), t.getDate()));
+            }
+            return dtos;
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public List<TransactionDTO> projection() {
+        return transactionService.getUserTransactions(userId);
+    }
+
+    private void seed() {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        jdbc.update("INSERT INTO users (id, username, email, password) VALUES (?, 'jmh', 'jmh@example.com', 'x')", userId);
+        for (long c = 1; c <= CATEGORIES; c++) {
+            jdbc.update("INSERT INTO categories (id, user_id, name, type) VALUES (?, ?, ?, ?)",
+                    c, userId, "Category " + c, c <= 3 ? "INCOME" : "EXPENSE");
+        }
+
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < transactions; i++) {
+            long category = i % CATEGORIES + 1;
+            batch.add(new Object[]{
+                    userId,
+                    category,
+                    BigDecimal.valueOf(100 + i % 10_000, 2),
+                    (category <= 3 ? TransactionType.INCOME : TransactionType.EXPENSE).name(),
+                    Timestamp.valueOf(start.plusMinutes(i * 7L)),
+                    i % 3 == 0 ? "note " + i : null
+            });
+            if (batch.size() == 10_000 || i == transactions - 1) {
+                jdbc.batchUpdate("insert into transactions (user_id, category_id, amount, type, date, note) values (?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        jdbc.execute("ANALYZE");
+    }
+}
@@ -0,0 +1,69 @@
+package com.vishnu.finance.finance_tracker.benchmark;
+
+import com.vishnu.finance.finance_tracker.security.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token signing and verification in {@link JwtUtil}, and password hashing at
+ * the strength {@code SecurityConfig} uses (BCryptPasswordEncoder's default, 10).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityBenchmark {
+    @Param({"10"})
+    public int bcryptStrength;
+
+    private JwtUtil jwtUtil;
+    private String token;
+    private BCryptPasswordEncoder passwordEncoder;
+    private String passwordHash;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", "BenchmarkSecret");
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", 3_600_000L);
+        token = jwtUtil.generateToken(42L, "benchmark");
+
+        passwordEncoder = new BCryptPasswordEncoder(bcryptStrength);
+        passwordHash = passwordEncoder.encode("correct horse battery staple");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(42L, "benchmark");
+    }
+
+    @Benchmark
+    public Object verifyToken() {
+        return jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public String encodePassword() {
+        return passwordEncoder.encode("correct horse battery staple");
+    }
+
+    @Benchmark
+    public boolean matchPassword() {
+        return passwordEncoder.matches("correct horse battery staple", passwordHash);
+    }
+}
@@ -0,0 +1,158 @@
+package com.vishnu.finance.finance_tracker.benchmark;
+
+import com.vishnu.finance.finance_tracker.dto.TransactionDTO;
+import com.vishnu.finance.finance_tracker.entity.Category;
+import com.vishnu.finance.finance_tracker.entity.TransactionType;
+import com.vishnu.finance.finance_tracker.entity.User;
+import com.vishnu.finance.finance_tracker.repository.CategoryRepository;
+import com.vishnu.finance.finance_tracker.repository.UserRepository;
+import com.vishnu.finance.finance_tracker.security.JwtUtil;
+import com.vishnu.finance.finance_tracker.service.TransactionService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Drives many concurrent clients at a JDBC-bound endpoint and reports
+ * throughput with p50/p99 latency. Subclasses pick the request threading
+ * model; both use the same connection pool so only the threads differ.
+ * Run with {@code mvn test -Pbenchmark -Dtest='*ThreadsLoadBenchmarkTest'};
+ * {@code -Dbenchmark.clients} and {@code -Dbenchmark.seconds} change the load.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.hikari.maximum-pool-size=40",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=false"
+})
+abstract class ThreadingLoadBenchmark {
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 400);
+    private static final int SECONDS = Integer.getInteger("benchmark.seconds", 20);
+    private static final int ROWS = 5_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void pagedReadsUnderLoad() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/transactions/page?size=50"))
+                .header("Authorization", "Bearer " + seedUser())
+                .GET()
+                .build();
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        drive(client, request, Math.max(1, SECONDS / 4));
+        long[] latencies = drive(client, request, SECONDS);
+
+        Arrays.sort(latencies);
+        System.out.printf("%s: %d clients, %,d requests in %ds, %,.0f req/s, p50 %.2f ms, p99 %.2f ms%n",
+                getClass().getSimpleName(), CLIENTS, latencies.length, SECONDS, latencies.length / (double) SECONDS,
+                percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6);
+    }
+
+    // Every client sends requests back to back until time is up; returns each latency in nanos
+    private long[] drive(HttpClient client, HttpRequest request, int seconds) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<long[]>> results = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                results.add(clients.submit(() -> {
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        long elapsed = System.nanoTime() - start;
+                        assertEquals(200, response.statusCode());
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = elapsed;
+                    }
+                    return Arrays.copyOf(samples, count);
+                }));
+            }
+            List<long[]> all = new ArrayList<>();
+            int total = 0;
+            for (Future<long[]> result : results) {
+                long[] samples = result.get();
+                all.add(samples);
+                total += samples.length;
+            }
+            long[] merged = new long[total];
+            int offset = 0;
+            for (long[] samples : all) {
+                System.arraycopy(samples, 0, merged, offset, samples.length);
+                offset += samples.length;
+            }
+            return merged;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private String seedUser() {
+        String name = "load-" + getClass().getSimpleName();
+        User user = userRepository.findByUsername(name).orElse(null);
+        if (user == null) {
+            user = new User();
+            user.setUsername(name);
+            user.setEmail(name + "@bench.example.com");
+            user.setPassword("x");
+            user = userRepository.save(user);
+
+            Category category = new Category();
+            category.setName("Groceries");
+            category.setType(TransactionType.EXPENSE);
+            category.setUser(user);
+            category = categoryRepository.save(category);
+
+            List<TransactionDTO> rows = new ArrayList<>(ROWS);
+            LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0);
+            for (int i = 0; i < ROWS; i++) {
+                TransactionDTO dto = new TransactionDTO();
+                dto.setCategoryId(category.getId());
+                dto.setAmount(BigDecimal.valueOf(100 + i % 900, 2));
+                dto.setType(TransactionType.EXPENSE.name());
+                dto.setDate(start.plusHours(i));
+                rows.add(dto);
+            }
+            transactionService.importTransactions(user.getId(), rows);
+        }
+        return jwtUtil.generateToken(user.getId(), user.getUsername());
+    }
+}
@@ -0,0 +1,14 @@
+package com.vishnu.finance.finance_tracker.benchmark;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Requests on virtual threads through the {@code virtual-threads} profile.
+ * Skipped on runtimes without virtual threads.
+ */
+@ActiveProfiles("virtual-threads")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadsLoadBenchmarkTest extends ThreadingLoadBenchmark {
+}
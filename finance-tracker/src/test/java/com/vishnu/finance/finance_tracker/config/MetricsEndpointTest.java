@@ -0,0 +1,50 @@
+package com.vishnu.finance.finance_tracker.config;
+
+import com.vishnu.finance.finance_tracker.service.DashboardService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=health,prometheus",
+        // Treat every statement as slow, but log none of them
+        "app.sql.slow-query.threshold=0ms",
+        "app.sql.slow-query.sample-rate=0"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Test
+    void prometheusExposesServiceRepositoryHibernatePoolAndFilterMeters() throws Exception {
+        dashboardService.getDashboard(-1L);
+        mockMvc.perform(get("/api/v1/dashboard")).andExpect(status().isForbidden());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("app_service_seconds_count{class=\"com.vishnu.finance.finance_tracker.service.DashboardService\"")
+                .contains("app_service_seconds_bucket{")
+                .contains("spring_data_repository_invocations_seconds_count{")
+                .contains("hibernate_statements_total{")
+                .contains("hibernate_flushes_total{")
+                .contains("hikaricp_connections_acquire_seconds_count{")
+                .contains("app_security_jwt_filter_seconds_count")
+                .contains("app_sql_slow_queries_total");
+    }
+}
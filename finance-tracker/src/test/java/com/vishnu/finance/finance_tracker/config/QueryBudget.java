@@ -0,0 +1,38 @@
+package com.vishnu.finance.finance_tracker.config;
+
+import org.junit.jupiter.api.function.ThrowingSupplier;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fails a test when the code under test issues more SQL statements than it is
+ * allowed. Use {@link #atMost(long)} as a MockMvc matcher for whole requests,
+ * or {@link #atMost(long, ThrowingSupplier)} around a direct call.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static ResultMatcher atMost(long statements) {
+        return result -> {
+            Long issued = (Long) result.getRequest().getAttribute(QueryCountFilter.COUNT_ATTRIBUTE);
+            assertNotNull(issued, "No statement count recorded; QueryCountFilter did not run");
+            check(statements, issued, result.getRequest().getMethod() + " " + result.getRequest().getRequestURI());
+        };
+    }
+
+    public static <T> T atMost(long statements, ThrowingSupplier<T> work) throws Throwable {
+        long start = QueryCounter.current();
+        T result = work.get();
+        check(statements, QueryCounter.current() - start, "call");
+        return result;
+    }
+
+    private static void check(long budget, long issued, String what) {
+        assertTrue(issued <= budget,
+                () -> what + " issued " + issued + " SQL statements, over its budget of " + budget);
+    }
+}
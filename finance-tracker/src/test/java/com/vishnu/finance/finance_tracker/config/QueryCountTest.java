@@ -0,0 +1,99 @@
+package com.vishnu.finance.finance_tracker.config;
+
+import com.vishnu.finance.finance_tracker.entity.Budget;
+import com.vishnu.finance.finance_tracker.entity.Category;
+import com.vishnu.finance.finance_tracker.entity.TransactionType;
+import com.vishnu.finance.finance_tracker.entity.User;
+import com.vishnu.finance.finance_tracker.repository.BudgetRepository;
+import com.vishnu.finance.finance_tracker.repository.CategoryRepository;
+import com.vishnu.finance.finance_tracker.repository.UserRepository;
+import com.vishnu.finance.finance_tracker.security.JwtUtil;
+import com.vishnu.finance.finance_tracker.service.BudgetService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.sql.query-count-header=true")
+@AutoConfigureMockMvc
+class QueryCountTest {
+    // The budget rows with their category names, then their spend
+    private static final long QUERIES = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private User user;
+
+    @BeforeEach
+    void seed() {
+        user = userRepository.findByUsername("budgeted").orElse(null);
+        if (user != null) {
+            return;
+        }
+        user = new User();
+        user.setUsername("budgeted");
+        user.setEmail("budgeted@example.com");
+        user.setPassword("x");
+        user = userRepository.save(user);
+        for (String name : new String[]{"Rent", "Food", "Travel", "Books"}) {
+            Category category = new Category();
+            category.setName(name);
+            category.setType(TransactionType.EXPENSE);
+            category.setUser(user);
+            category = categoryRepository.save(category);
+
+            Budget budget = new Budget();
+            budget.setUser(user);
+            budget.setCategory(category);
+            budget.setBudgetAmount(new BigDecimal("100.00"));
+            budget.setMonth(YearMonth.of(2025, 1));
+            budgetRepository.save(budget);
+        }
+    }
+
+    @Test
+    void budgetListStaysWithinItsStatementBudget() throws Throwable {
+        String bearer = "Bearer " + jwtUtil.generateToken(user.getId(), user.getUsername());
+        MvcResult result = mockMvc.perform(get("/api/v1/budgets").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(QUERIES))
+                .andReturn();
+        assertEquals(result.getRequest().getAttribute(QueryCountFilter.COUNT_ATTRIBUTE).toString(),
+                result.getResponse().getHeader(QueryCountFilter.HEADER));
+
+        assertEquals(4, QueryBudget.atMost(QUERIES, () -> budgetService.getUserBudgets(user.getId())).size());
+    }
+
+    @Test
+    void failsWhenTheWorkGoesOverBudget() {
+        assertThrows(AssertionError.class, () -> QueryBudget.atMost(0, () -> budgetService.getUserBudgets(user.getId())));
+    }
+}
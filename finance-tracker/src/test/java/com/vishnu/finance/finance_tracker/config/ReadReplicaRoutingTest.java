@@ -0,0 +1,116 @@
+package com.vishnu.finance.finance_tracker.config;
+
+import com.vishnu.finance.finance_tracker.dto.CategoryDTO;
+import com.vishnu.finance.finance_tracker.entity.User;
+import com.vishnu.finance.finance_tracker.repository.UserRepository;
+import com.vishnu.finance.finance_tracker.security.AuthenticatedUser;
+import com.vishnu.finance.finance_tracker.service.CategoryService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs against two embedded databases: the usual test database as primary and
+ * a second, separately migrated one as the replica. Rows seeded only into the
+ * replica show which pool a read was served from.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.replica.jdbc-url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.password=",
+        "app.datasource.read-your-writes=1h"
+})
+class ReadReplicaRoutingTest {
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=MONTH,YEAR,VALUE";
+
+    private static JdbcTemplate replica;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeAll
+    static void migrateReplica() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        replica = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readsComeFromTheReplicaAndWritesGoToThePrimary() {
+        User user = userOnBothSides("replica-reader");
+        replica.update("INSERT INTO categories (user_id, name, type) VALUES (?, 'Replicated', 'EXPENSE')", user.getId());
+        signIn(user);
+
+        assertEquals(List.of("Replicated"), names(categoryService.getUserCategories(user.getId())));
+
+        CategoryDTO created = categoryService.createCategory(otherUser().getId(), category("Written"));
+        assertEquals(0, replica.queryForObject("SELECT COUNT(*) FROM categories WHERE name = ?", Integer.class, created.getName()));
+    }
+
+    @Test
+    void aUserReadsTheirOwnWritesFromThePrimaryWithinTheWindow() {
+        User writer = userOnBothSides("replica-writer");
+        User bystander = userOnBothSides("replica-bystander");
+        replica.update("INSERT INTO categories (user_id, name, type) VALUES (?, 'Stale', 'EXPENSE')", bystander.getId());
+
+        categoryService.createCategory(writer.getId(), category("Fresh"));
+
+        signIn(writer);
+        assertEquals(List.of("Fresh"), names(categoryService.getUserCategories(writer.getId())));
+
+        signIn(bystander);
+        assertEquals(List.of("Stale"), names(categoryService.getUserCategories(bystander.getId())));
+    }
+
+    // Replication is simulated by copying the user row by hand
+    private User userOnBothSides(String name) {
+        User user = save(name);
+        replica.update("INSERT INTO users (id, username, email, password) VALUES (?, ?, ?, 'x')",
+                user.getId(), user.getUsername(), user.getEmail());
+        return user;
+    }
+
+    private User otherUser() {
+        return userRepository.findByUsername("replica-other").orElseGet(() -> save("replica-other"));
+    }
+
+    private User save(String name) {
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("x");
+        return userRepository.save(user);
+    }
+
+    private void signIn(User user) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(user.getId(), user.getUsername()), null, List.of()));
+    }
+
+    private CategoryDTO category(String name) {
+        return new CategoryDTO(null, name, null, "EXPENSE");
+    }
+
+    private List<String> names(List<CategoryDTO> categories) {
+        return categories.stream().map(CategoryDTO::getName).toList();
+    }
+}
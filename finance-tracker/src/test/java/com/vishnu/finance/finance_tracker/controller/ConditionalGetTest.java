@@ -0,0 +1,104 @@
+package com.vishnu.finance.finance_tracker.controller;
+
+import com.vishnu.finance.finance_tracker.entity.User;
+import com.vishnu.finance.finance_tracker.repository.UserRepository;
+import com.vishnu.finance.finance_tracker.security.JwtUtil;
+import com.vishnu.finance.finance_tracker.service.DashboardService;
+import com.vishnu.finance.finance_tracker.service.DataVersionService;
+import com.vishnu.finance.finance_tracker.service.LedgerChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.inOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @MockitoSpyBean
+    private DashboardService dashboardService;
+
+    @MockitoSpyBean
+    private DataVersionService dataVersionService;
+
+    private Long userId;
+    private String bearer;
+
+    @BeforeEach
+    void signIn() {
+        User user = userRepository.findByUsername("etag").orElseGet(() -> {
+            User created = new User();
+            created.setUsername("etag");
+            created.setEmail("etag@example.com");
+            created.setPassword("x");
+            return userRepository.save(created);
+        });
+        userId = user.getId();
+        bearer = "Bearer " + jwtUtil.generateToken(user.getId(), user.getUsername());
+    }
+
+    @Test
+    void answersNotModifiedUntilTheUserWritesSomething() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/categories").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/categories")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/api/v1/categories")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Books\",\"type\":\"EXPENSE\"}"))
+                .andExpect(status().isCreated());
+
+        String next = mockMvc.perform(get("/api/v1/categories")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, next);
+    }
+
+    @Test
+    void dropsTheCachedDashboardBeforeMovingTheVersion() {
+        // Otherwise a dashboard read in between could be served under the new ETag
+        LedgerChangedEvent event = new LedgerChangedEvent(userId);
+        transactionTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(event));
+
+        InOrder order = inOrder(dashboardService, dataVersionService);
+        order.verify(dashboardService).onLedgerChanged(event);
+        order.verify(dataVersionService).onLedgerChanged(event);
+    }
+}
@@ -0,0 +1,276 @@
+package com.vishnu.finance.finance_tracker.repository;
+
+import com.vishnu.finance.finance_tracker.entity.Transaction;
+import com.vishnu.finance.finance_tracker.entity.TransactionType;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs each user-scoped repository query, captures the SQL Hibernate issues
+ * and asks the embedded database for its plan. Every statement has to be
+ * served by an index, and the hot paths by the index created for them in
+ * V3__query_indexes.sql.
+ */
+@DataJpaTest(properties = {
+        // ANALYZE commits, so the seeded rows live in a database of their own
+        "spring.datasource.url=jdbc:h2:mem:index_usage;MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=MONTH,YEAR,VALUE",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.vishnu.finance.finance_tracker.repository.QueryIndexUsageTest$RecordingStatementInspector"
+})
+class QueryIndexUsageTest {
+
+    private static final int USERS = 10;
+    private static final int CATEGORIES_PER_USER = 6;
+    private static final int TRANSACTIONS_PER_CATEGORY = 50;
+
+    private static final Pattern LAST_COLUMN = Pattern.compile("\\.([a-z_]+)\\b");
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private MonthlySummaryRepository monthlySummaryRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BalanceCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static boolean seeded;
+
+    private final LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private final LocalDateTime end = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    // Enough rows spread over users, categories, types and months for the
+    // planner's selectivity statistics to tell the indexes apart
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        for (long user = 1; user <= USERS; user++) {
+            jdbcTemplate.update("INSERT INTO users (id, username, email, password) VALUES (?, ?, ?, 'x')",
+                    user, "user" + user, "user" + user + "@example.com");
+            for (long c = 0; c < CATEGORIES_PER_USER; c++) {
+                long category = (user - 1) * CATEGORIES_PER_USER + c + 1;
+                String type = c % 2 == 0 ? "EXPENSE" : "INCOME";
+                jdbcTemplate.update("INSERT INTO categories (id, user_id, name, type) VALUES (?, ?, ?, ?)",
+                        category, user, "category" + category, type);
+                for (int m = 0; m < 12; m++) {
+                    jdbcTemplate.update("INSERT INTO budgets (user_id, category_id, budget_amount, month) VALUES (?, ?, 100, ?)",
+                            user, category, serialize(YearMonth.of(2025, 1).plusMonths(m)));
+                }
+                for (int i = 0; i < TRANSACTIONS_PER_CATEGORY; i++) {
+                    jdbcTemplate.update("INSERT INTO transactions (user_id, category_id, amount, type, date) VALUES (?, ?, 10, ?, ?)",
+                            user, category, type, Timestamp.valueOf(start.plusDays(i * 7L)));
+                }
+            }
+        }
+        jdbcTemplate.execute("ANALYZE");
+        seeded = true;
+    }
+
+    @Test
+    void transactionQueriesUseIndexes() {
+        assertIndexed("IDX_TRANSACTIONS_USER_DATE", () -> transactionRepository.findByUserIdAndDateBetween(1L, start, end));
+        assertIndexed("IDX_TRANSACTIONS_USER_TYPE_DATE", () -> transactionRepository.findByUserIdAndType(1L, TransactionType.EXPENSE));
+        assertIndexed("IDX_TRANSACTIONS_USER_TYPE_DATE", () -> transactionRepository.sumByUserAndType(1L, TransactionType.INCOME));
+        assertIndexed("IDX_TRANSACTIONS_USER_DATE", () -> transactionRepository.findPageBefore(1L, start, end, Long.MAX_VALUE, Limit.of(51)));
+        assertIndexed("IDX_TRANSACTIONS_USER_DATE", () -> transactionRepository.sumSeriesByDay(1L, start, end, null, true, List.of()));
+        assertIndexed("IDX_TRANSACTIONS_USER_DATE", () -> transactionRepository.sumSeriesByMonth(1L, start, end, TransactionType.EXPENSE, false, List.of(1L, 2L)));
+        assertIndexed("IDX_TRANSACTIONS_USER_DATE", () -> transactionRepository.sumNetBetween(1L, start, end));
+        assertIndexed(null, () -> transactionRepository.findByUserId(1L));
+        assertIndexed(null, () -> transactionRepository.countByUserId(1L));
+        assertIndexed(null, () -> transactionRepository.noteStats(1L));
+        assertIndexed(null, () -> transactionRepository.streamLedger(1L).close());
+        assertIndexed(null, () -> transactionRepository.streamNotes(1L).close());
+        assertIndexed(null, () -> transactionRepository.findByUserIdAndIdIn(1L, List.of(1L, 2L, 3L)));
+        assertIndexed(null, () -> transactionRepository.summarizeByUserGroupedByCategoryTypeAndMonth(1L));
+        assertIndexed(null, () -> transactionRepository.sumNetByUserGroupedByMonth(1L));
+    }
+
+    @Test
+    void rollupQueriesUseIndexes() {
+        YearMonth month = YearMonth.of(2025, 1);
+        assertIndexed(null, () -> monthlySummaryRepository.sumByUserGroupedByType(1L));
+        assertIndexed(null, () -> monthlySummaryRepository.sumByUserAndTypeGroupedByCategory(1L, TransactionType.EXPENSE));
+        assertIndexed(null, () -> monthlySummaryRepository.sumByUserAndTypeGroupedByMonth(1L, TransactionType.INCOME, month, month.plusMonths(11)));
+        assertIndexed(null, () -> monthlySummaryRepository.findByUserAndTypeAndCategories(1L, TransactionType.EXPENSE, Set.of(1L, 2L), month, month.plusMonths(2)));
+    }
+
+    @Test
+    void composedQueriesUseIndexes() {
+        Sort newestFirst = Sort.by(Sort.Direction.DESC, "date", "id");
+        assertIndexed("IDX_TRANSACTIONS_USER_DATE", () -> query(newestFirst,
+                TransactionSpecifications.dateBetween(start, end)));
+        assertIndexed("IDX_TRANSACTIONS_USER_CATEGORY_DATE", () -> query(newestFirst,
+                TransactionSpecifications.categoryIn(List.of(1L))));
+        assertIndexed(null, () -> query(newestFirst,
+                TransactionSpecifications.typeIn(List.of(TransactionType.EXPENSE))));
+        assertIndexed("IDX_TRANSACTIONS_USER_AMOUNT", () -> query(Sort.by(Sort.Direction.ASC, "amount", "id"),
+                TransactionSpecifications.amountBetween(BigDecimal.ONE, BigDecimal.TEN),
+                TransactionSpecifications.after("amount", true, BigDecimal.ONE, 1L)));
+        assertIndexed(null, () -> query(Sort.by(Sort.Direction.ASC, "amount", "id"),
+                TransactionSpecifications.dateBetween(start, null),
+                TransactionSpecifications.typeIn(List.of(TransactionType.EXPENSE, TransactionType.INCOME)),
+                TransactionSpecifications.categoryIn(List.of(1L, 2L)),
+                TransactionSpecifications.amountBetween(BigDecimal.ONE, BigDecimal.TEN),
+                TransactionSpecifications.noteContains("coffee"),
+                TransactionSpecifications.after("amount", true, BigDecimal.ONE, 1L)));
+    }
+
+    @Test
+    void budgetQueriesUseIndexes() {
+        assertIndexed("IDX_BUDGETS_USER_MONTH", () -> budgetRepository.findByUserIdAndMonth(1L, YearMonth.of(2025, 1)));
+        assertIndexed("IDX_BUDGETS_USER_CATEGORY_MONTH", () -> budgetRepository.findByUserIdAndCategoryIdAndMonth(1L, 1L, YearMonth.of(2025, 1)));
+        assertIndexed(null, () -> budgetRepository.findByUserIdAndCategoryId(1L, 1L));
+        assertIndexed(null, () -> budgetRepository.findByUserId(1L));
+    }
+
+    @Test
+    void categoryQueriesUseIndexes() {
+        assertIndexed("IDX_CATEGORIES_USER_TYPE", () -> categoryRepository.findByUserIdAndType(1L, TransactionType.EXPENSE));
+        assertIndexed(null, () -> categoryRepository.findByUserId(1L));
+        assertIndexed(null, () -> categoryRepository.findDtosByUserId(1L));
+        assertIndexed(null, () -> categoryRepository.findByIdAndUserId(1L, 1L));
+    }
+
+    @Test
+    void checkpointQueriesUseIndexes() {
+        YearMonth month = YearMonth.of(2025, 6);
+        assertIndexed("UK_BALANCE_CHECKPOINT_USER_PERIOD", () -> checkpointRepository.findBalancesBefore(1L, month, Limit.of(1)));
+        assertIndexed("UK_BALANCE_CHECKPOINT_USER_PERIOD", () -> checkpointRepository.existsAt(1L, month));
+        assertIndexed("UK_BALANCE_CHECKPOINT_USER_PERIOD", () -> checkpointRepository.lockBalanceBefore(1L, month.toString()));
+        assertIndexed("UK_BALANCE_CHECKPOINT_USER_PERIOD", () -> checkpointRepository.shiftFrom(1L, month, BigDecimal.ONE));
+        assertIndexed(null, () -> checkpointRepository.deleteByUserId(1L));
+    }
+
+    // Rolled back with the test transaction, so the seeded rows survive
+    @Test
+    void categoryDeletesUseIndexes() {
+        assertIndexed("IDX_TRANSACTIONS_USER_CATEGORY_DATE", () -> transactionRepository.deleteByUserIdAndCategoryId(1L, 1L));
+        assertIndexed(null, () -> budgetRepository.deleteByUserIdAndCategoryId(1L, 1L));
+        assertIndexed(null, () -> categoryRepository.deleteByIdAndUserId(1L, 1L));
+    }
+
+    // A page of the user-1 rows matching the criteria, as TransactionService issues it
+    @SafeVarargs
+    private void query(Sort sort, Specification<Transaction>... criteria) {
+        List<Specification<Transaction>> all = new ArrayList<>(List.of(TransactionSpecifications.forUser(1L)));
+        all.addAll(List.of(criteria));
+        transactionRepository.findBy(Specification.allOf(all), q -> q.sortBy(sort).project("category").limit(51).all());
+    }
+
+    /**
+     * Runs {@code query} and checks the plan of every statement it issued.
+     * When {@code expectedIndex} is set the first statement must use it.
+     */
+    private void assertIndexed(String expectedIndex, Runnable query) {
+        RecordingStatementInspector.STATEMENTS.clear();
+        query.run();
+        List<String> statements = new ArrayList<>(RecordingStatementInspector.STATEMENTS);
+        assertFalse(statements.isEmpty(), "No SQL captured");
+
+        for (int i = 0; i < statements.size(); i++) {
+            String plan = explain(statements.get(i));
+            assertFalse(plan.contains(".tableScan"), "Full scan in plan:\n" + plan);
+            if (i == 0 && expectedIndex != null) {
+                assertTrue(plan.toUpperCase(Locale.ROOT).contains(expectedIndex), "Expected " + expectedIndex + " in plan:\n" + plan);
+            }
+        }
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                bindPlaceholders(statement, sql);
+                try (ResultSet rs = statement.executeQuery()) {
+                    StringBuilder plan = new StringBuilder();
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                }
+            }
+        });
+    }
+
+    // Picks a value of the right type for each "?" from the column it is compared with
+    private void bindPlaceholders(PreparedStatement statement, String sql) throws java.sql.SQLException {
+        int index = 0;
+        for (int pos = sql.indexOf('?'); pos >= 0; pos = sql.indexOf('?', pos + 1)) {
+            Matcher matcher = LAST_COLUMN.matcher(sql.substring(0, pos));
+            String column = "";
+            while (matcher.find()) {
+                column = matcher.group(1);
+            }
+            index++;
+            switch (column) {
+                case "date", "created_at" -> statement.setTimestamp(index, Timestamp.valueOf(start));
+                case "type" -> statement.setString(index, TransactionType.EXPENSE.name());
+                case "month" -> statement.setBytes(index, serialize(YearMonth.of(2025, 1)));
+                case "period" -> statement.setString(index, "2025-01");
+                case "note" -> statement.setString(index, "%coffee%");
+                default -> statement.setLong(index, 1L);
+            }
+        }
+    }
+
+    // Budget.month is mapped as a serializable value
+    private static byte[] serialize(YearMonth month) {
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+             ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(month);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
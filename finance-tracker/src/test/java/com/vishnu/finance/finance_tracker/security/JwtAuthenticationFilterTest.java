@@ -0,0 +1,104 @@
+package com.vishnu.finance.finance_tracker.security;
+
+import com.vishnu.finance.finance_tracker.entity.User;
+import com.vishnu.finance.finance_tracker.repository.UserRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTest {
+    private static final String SECRET = "test-secret";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final JwtUtil jwtUtil = spy(new JwtUtil());
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", 60_000L);
+        filter = new JwtAuthenticationFilter(new VerifiedTokenCache(jwtUtil, 100), userRepository, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void takesTheUserIdFromTheTokenWithoutALookup() throws Exception {
+        run(jwtUtil.generateToken(42L, "alice"));
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals(new AuthenticatedUser(42L, "alice"), auth.getPrincipal());
+        assertEquals("alice", auth.getName());
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    void looksUpTheIdForTokensIssuedWithoutIt() throws Exception {
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("bob");
+        when(userRepository.findByUsername("bob")).thenReturn(Optional.of(user));
+
+        run(Jwts.builder()
+                .setSubject("bob")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(SignatureAlgorithm.HS256, SECRET)
+                .compact());
+
+        assertEquals(new AuthenticatedUser(7L, "bob"), SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+    }
+
+    @Test
+    void ignoresTokensWithABadSignature() throws Exception {
+        String token = jwtUtil.generateToken(42L, "alice");
+        run(token.substring(0, token.length() - 2) + "xx");
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void verifiesEachAcceptedTokenOnlyOnce() throws Exception {
+        String token = jwtUtil.generateToken(42L, "alice");
+        String forged = token.substring(0, token.length() - 2) + "xx";
+        for (int i = 0; i < 3; i++) {
+            run(token);
+            SecurityContextHolder.clearContext();
+            run(forged);
+            assertNull(SecurityContextHolder.getContext().getAuthentication());
+        }
+
+        verify(jwtUtil, times(1)).verify(token);
+        verify(jwtUtil, times(3)).verify(forged);
+    }
+
+    private void run(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+}
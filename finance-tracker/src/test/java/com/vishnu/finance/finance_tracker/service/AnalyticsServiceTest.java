@@ -0,0 +1,141 @@
+package com.vishnu.finance.finance_tracker.service;
+
+import com.vishnu.finance.finance_tracker.config.MoneyConfig;
+import com.vishnu.finance.finance_tracker.dto.SeriesBucketDTO;
+import com.vishnu.finance.finance_tracker.dto.SeriesDTO;
+import com.vishnu.finance.finance_tracker.entity.Category;
+import com.vishnu.finance.finance_tracker.entity.TransactionType;
+import com.vishnu.finance.finance_tracker.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@Import({AnalyticsService.class, MoneyConfig.class, TestFixtures.class})
+class AnalyticsServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    private User user;
+    private Category food;
+
+    @BeforeEach
+    void seed() {
+        user = fixtures.user("series");
+        Category salary = fixtures.category(user, "Salary", TransactionType.INCOME);
+        food = fixtures.category(user, "Food", TransactionType.EXPENSE);
+        Category rent = fixtures.category(user, "Rent", TransactionType.EXPENSE);
+
+        fixtures.transaction(user, food, "5.00", TransactionType.EXPENSE, LocalDateTime.of(2024, 12, 31, 23, 59));
+        fixtures.transaction(user, rent, "400.00", TransactionType.EXPENSE, LocalDateTime.of(2025, 1, 1, 0, 0));
+        fixtures.transaction(user, food, "12.50", TransactionType.EXPENSE, LocalDateTime.of(2025, 1, 6, 9, 0));
+        fixtures.transaction(user, food, "12.50", TransactionType.EXPENSE, LocalDateTime.of(2025, 1, 12, 20, 0));
+        fixtures.transaction(user, food, "12.50", TransactionType.EXPENSE, LocalDateTime.of(2025, 1, 13, 8, 0));
+        fixtures.transaction(user, salary, "1000.00", TransactionType.INCOME, LocalDateTime.of(2025, 1, 15, 9, 0));
+        fixtures.transaction(user, salary, "1000.00", TransactionType.INCOME, LocalDateTime.of(2025, 2, 15, 9, 0));
+        fixtures.transaction(user, food, "12.50", TransactionType.EXPENSE, LocalDateTime.of(2025, 3, 31, 23, 59));
+        fixtures.transaction(user, rent, "400.00", TransactionType.EXPENSE, LocalDateTime.of(2025, 4, 1, 0, 0));
+        fixtures.transaction(user, salary, "1000.00", TransactionType.INCOME, LocalDateTime.of(2025, 4, 15, 9, 0));
+
+        User other = fixtures.user("other");
+        fixtures.transaction(other, fixtures.category(other, "Food", TransactionType.EXPENSE), "99.00", TransactionType.EXPENSE,
+                LocalDateTime.of(2025, 1, 6, 9, 0));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void dailySeriesIsContiguousAndBuiltFromOneStatement() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        SeriesDTO series = analyticsService.getSeries(user.getId(), "day",
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), null, null);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(31, series.getBuckets().size());
+        assertEquals(LocalDate.of(2025, 1, 31), series.getBuckets().get(30).getStart());
+        assertBucket(series.getBuckets().get(0), "0.00", "400.00", 1);
+        assertBucket(series.getBuckets().get(1), "0.00", "0.00", 0);
+        assertBucket(series.getBuckets().get(5), "0.00", "12.50", 1);
+        assertBucket(series.getBuckets().get(14), "1000.00", "0.00", 1);
+        assertEquals(5, series.getBuckets().stream().mapToLong(SeriesBucketDTO::getTransactionCount).sum());
+    }
+
+    @Test
+    void weeksStartOnMondayAndTheRangeWidensToWholeBuckets() {
+        SeriesDTO series = analyticsService.getSeries(user.getId(), "WEEK",
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), null, null);
+
+        assertEquals(LocalDate.of(2024, 12, 30), series.getFrom());
+        assertEquals(LocalDate.of(2025, 2, 2), series.getTo());
+        assertEquals(5, series.getBuckets().size());
+        assertBucket(series.getBuckets().get(0), "0.00", "405.00", 2);
+        assertBucket(series.getBuckets().get(1), "0.00", "25.00", 2);
+        assertBucket(series.getBuckets().get(2), "1000.00", "12.50", 2);
+        assertBucket(series.getBuckets().get(4), "0.00", "0.00", 0);
+    }
+
+    @Test
+    void quartersAndFiltersFoldMonthlyRows() {
+        List<SeriesBucketDTO> quarters = analyticsService.getSeries(user.getId(), "quarter",
+                LocalDate.of(2025, 2, 1), LocalDate.of(2025, 6, 30), null, null).getBuckets();
+        assertEquals(2, quarters.size());
+        assertBucket(quarters.get(0), "2000.00", "450.00", 7);
+        assertEquals(new BigDecimal("1550.00"), quarters.get(0).getNet());
+        assertBucket(quarters.get(1), "1000.00", "400.00", 2);
+
+        List<SeriesBucketDTO> foodOnly = analyticsService.getSeries(user.getId(), "quarter",
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 30), null, List.of(food.getId())).getBuckets();
+        assertBucket(foodOnly.get(0), "0.00", "50.00", 4);
+        assertBucket(foodOnly.get(1), "0.00", "0.00", 0);
+
+        List<SeriesBucketDTO> incomeOnly = analyticsService.getSeries(user.getId(), "month",
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31), "income", null).getBuckets();
+        assertEquals(12, incomeOnly.size());
+        assertBucket(incomeOnly.get(0), "1000.00", "0.00", 1);
+        assertBucket(incomeOnly.get(2), "0.00", "0.00", 0);
+        assertBucket(incomeOnly.get(3), "1000.00", "0.00", 1);
+    }
+
+    @Test
+    void rejectsBadRequests() {
+        Long userId = user.getId();
+        assertThrows(RuntimeException.class, () -> analyticsService.getSeries(userId, "hour", null, null, null, null));
+        assertThrows(RuntimeException.class, () -> analyticsService.getSeries(userId, "day",
+                LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1), null, null));
+        assertThrows(RuntimeException.class, () -> analyticsService.getSeries(userId, "day",
+                LocalDate.of(2020, 1, 1), LocalDate.of(2025, 1, 1), null, null));
+    }
+
+    private static void assertBucket(SeriesBucketDTO bucket, String income, String expense, long count) {
+        assertEquals(new BigDecimal(income), bucket.getIncome());
+        assertEquals(new BigDecimal(expense), bucket.getExpense());
+        assertEquals(count, bucket.getTransactionCount());
+    }
+}
@@ -0,0 +1,272 @@
+package com.vishnu.finance.finance_tracker.service;
+
+import com.vishnu.finance.finance_tracker.config.MoneyConfig;
+import com.vishnu.finance.finance_tracker.dto.BalanceCurveDTO;
+import com.vishnu.finance.finance_tracker.dto.BalancePointDTO;
+import com.vishnu.finance.finance_tracker.dto.TransactionDTO;
+import com.vishnu.finance.finance_tracker.entity.Category;
+import com.vishnu.finance.finance_tracker.entity.Transaction;
+import com.vishnu.finance.finance_tracker.entity.TransactionType;
+import com.vishnu.finance.finance_tracker.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives seeded random writes through {@link TransactionService}, most of them
+ * dated in past months, and checks the checkpoint-backed balances against a
+ * sum over every transaction.
+ */
+@DataJpaTest
+@Import({TransactionService.class, MonthlySummaryService.class, LedgerStore.class, NoteSearchIndex.class, BalanceService.class, AnalyticsService.class, MoneyConfig.class, TestFixtures.class})
+class BalanceServiceTest {
+
+    private static final LocalDateTime FIRST = LocalDateTime.of(2023, 1, 1, 0, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BalanceService balanceService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+    private Category salary;
+    private Category food;
+
+    @BeforeEach
+    void seed() {
+        user = fixtures.user("balance");
+        salary = fixtures.category(user, "Salary", TransactionType.INCOME);
+        food = fixtures.category(user, "Food", TransactionType.EXPENSE);
+
+        // Another user's rows must not leak into the balance
+        User other = fixtures.user("other");
+        Category otherFood = fixtures.category(other, "Food", TransactionType.EXPENSE);
+        transactionService.createTransaction(other.getId(), dto(otherFood, "EXPENSE", "77.00", FIRST.plusDays(40)));
+    }
+
+    @Test
+    void checkpointsFollowWritesInPastMonths() {
+        Random random = new Random(23);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 80; i++) {
+            ids.add(transactionService.createTransaction(user.getId(), randomDto(random)).getId());
+        }
+        for (int i = 0; i < 25; i++) {
+            TransactionDTO change = new TransactionDTO();
+            change.setAmount(BigDecimal.valueOf(random.nextInt(100_000), 2));
+            if (random.nextBoolean()) {
+                change.setType("INCOME");
+                change.setCategoryId(salary.getId());
+            }
+            transactionService.updateTransaction(user.getId(), ids.get(random.nextInt(ids.size())), change);
+        }
+        for (int i = 0; i < 20; i++) {
+            transactionService.deleteTransaction(user.getId(), ids.remove(random.nextInt(ids.size())));
+        }
+        List<TransactionDTO> rows = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            rows.add(randomDto(random));
+        }
+        assertEquals(40, transactionService.importTransactions(user.getId(), rows).getImported());
+        entityManager.flush();
+        entityManager.clear();
+
+        Map<YearMonth, BigDecimal> maintained = checkpoints();
+        assertMatchesTransactions(maintained);
+
+        // A month whose rows were all deleted keeps its checkpoint; a rebuild drops it
+        balanceService.rebuild(user.getId());
+        entityManager.flush();
+        entityManager.clear();
+        Map<YearMonth, BigDecimal> rebuilt = checkpoints();
+        assertMatchesTransactions(rebuilt);
+        assertTrue(maintained.keySet().containsAll(rebuilt.keySet()));
+
+        Random instants = new Random(24);
+        for (int i = 0; i < 50; i++) {
+            LocalDateTime at = FIRST.minusDays(30).plusMinutes(instants.nextInt(60 * 24 * 1200));
+            assertEquals(sumBefore(at), balanceService.getBalance(user.getId(), at).getBalance(), at.toString());
+        }
+    }
+
+    /**
+     * Writers race into months with no checkpoint yet and into the months
+     * those are seeded from. Each writer commits on its own thread, so the
+     * user and categories are committed up front rather than in the test's
+     * transaction.
+     */
+    @Test
+    void concurrentFirstWritesIntoAMonthSeedItOnce() throws Exception {
+        TransactionTemplate committed = new TransactionTemplate(transactionManager);
+        committed.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Category[] categories = committed.execute(status -> {
+            User racer = fixtures.user("balance-race");
+            Category salary = fixtures.category(racer, "Salary", TransactionType.INCOME);
+            transactionService.createTransaction(racer.getId(), dto(salary, "INCOME", "500.00", LocalDateTime.of(2024, 1, 10, 9, 0)));
+            return new Category[]{salary, fixtures.category(racer, "Food", TransactionType.EXPENSE)};
+        });
+        Long userId = categories[0].getUser().getId();
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < 4; w++) {
+                Random random = new Random(26 + w);
+                writers.add(pool.submit(() -> {
+                    for (int i = 0; i < 30; i++) {
+                        boolean income = random.nextInt(3) == 0;
+                        LocalDateTime date = LocalDateTime.of(2024, 1 + random.nextInt(12), 1 + random.nextInt(28), 12, 0);
+                        transactionService.createTransaction(userId, dto(income ? categories[0] : categories[1],
+                                income ? "INCOME" : "EXPENSE", BigDecimal.valueOf(1 + random.nextInt(20_000), 2).toPlainString(), date));
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Map<YearMonth, BigDecimal> checkpoints = checkpoints(userId);
+        assertEquals(12, checkpoints.size());
+        assertMatchesTransactions(userId, checkpoints);
+    }
+
+    @Test
+    void pointQueryIsOneCheckpointAndOnePartialMonthSum() {
+        transactionService.createTransaction(user.getId(), dto(salary, "INCOME", "1000.00", LocalDateTime.of(2024, 1, 15, 9, 0)));
+        transactionService.createTransaction(user.getId(), dto(food, "EXPENSE", "40.00", LocalDateTime.of(2024, 3, 2, 9, 0)));
+        transactionService.createTransaction(user.getId(), dto(food, "EXPENSE", "2.50", LocalDateTime.of(2024, 3, 20, 9, 0)));
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        BigDecimal balance = balanceService.getBalance(user.getId(), LocalDateTime.of(2024, 3, 10, 0, 0)).getBalance();
+
+        assertEquals(new BigDecimal("960.00"), balance);
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(new BigDecimal("0.00"), balanceService.getBalance(user.getId(), LocalDateTime.of(2024, 1, 15, 9, 0)).getBalance());
+        assertEquals(new BigDecimal("957.50"), balanceService.getBalance(user.getId(), LocalDateTime.of(2030, 1, 1, 0, 0)).getBalance());
+    }
+
+    @Test
+    void curveStartsAtTheOpeningBalanceAndEndsAtTheBalanceAfterTheRange() {
+        Random random = new Random(25);
+        for (int i = 0; i < 60; i++) {
+            transactionService.createTransaction(user.getId(), randomDto(random));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        LocalDate from = LocalDate.of(2023, 11, 20);
+        LocalDate to = LocalDate.of(2024, 8, 10);
+        for (String granularity : new String[]{"day", "week", "month", "quarter"}) {
+            BalanceCurveDTO curve = balanceService.getCurve(user.getId(), granularity, from, to);
+            assertEquals(sumBefore(curve.getFrom().atStartOfDay()), curve.getOpeningBalance(), granularity);
+            AnalyticsService.Granularity unit = AnalyticsService.Granularity.valueOf(curve.getGranularity());
+            for (BalancePointDTO point : curve.getPoints()) {
+                assertEquals(sumBefore(unit.next(point.getStart()).atStartOfDay()), point.getBalance(), granularity + " " + point.getStart());
+            }
+            assertEquals(curve.getTo().plusDays(1), unit.next(curve.getPoints().get(curve.getPoints().size() - 1).getStart()));
+        }
+    }
+
+    private void assertMatchesTransactions(Map<YearMonth, BigDecimal> checkpoints) {
+        assertMatchesTransactions(user.getId(), checkpoints);
+    }
+
+    // Every checkpoint equals the sum of the user's transactions up to the end of its month
+    private void assertMatchesTransactions(Long userId, Map<YearMonth, BigDecimal> checkpoints) {
+        checkpoints.forEach((month, balance) ->
+                assertEquals(sumBefore(userId, month.plusMonths(1).atDay(1).atStartOfDay()), balance, month.toString()));
+    }
+
+    private Map<YearMonth, BigDecimal> checkpoints() {
+        return checkpoints(user.getId());
+    }
+
+    private Map<YearMonth, BigDecimal> checkpoints(Long userId) {
+        Map<YearMonth, BigDecimal> checkpoints = new TreeMap<>();
+        entityManager.getEntityManager()
+                .createQuery("SELECT c.month, c.balance FROM BalanceCheckpoint c WHERE c.user.id = :userId", Object[].class)
+                .setParameter("userId", userId)
+                .getResultList()
+                .forEach(row -> checkpoints.put((YearMonth) row[0], (BigDecimal) row[1]));
+        return checkpoints;
+    }
+
+    private BigDecimal sumBefore(LocalDateTime at) {
+        return sumBefore(user.getId(), at);
+    }
+
+    private BigDecimal sumBefore(Long userId, LocalDateTime at) {
+        BigDecimal sum = new BigDecimal("0.00");
+        for (Transaction t : entityManager.getEntityManager()
+                .createQuery("SELECT t FROM Transaction t WHERE t.user.id = :userId AND t.date < :at", Transaction.class)
+                .setParameter("userId", userId)
+                .setParameter("at", at)
+                .getResultList()) {
+            sum = t.getType() == TransactionType.INCOME ? sum.add(t.getAmount()) : sum.subtract(t.getAmount());
+        }
+        return sum;
+    }
+
+    private TransactionDTO randomDto(Random random) {
+        boolean income = random.nextInt(4) == 0;
+        LocalDateTime date = FIRST.plusMinutes(random.nextInt(60 * 24 * 1000));
+        return dto(income ? salary : food, income ? "INCOME" : "EXPENSE",
+                BigDecimal.valueOf(1 + random.nextInt(300_000), 2).toPlainString(), date);
+    }
+
+
+
+    private TransactionDTO dto(Category category, String type, String amount, LocalDateTime date) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setCategoryId(category.getId());
+        dto.setAmount(new BigDecimal(amount));
+        dto.setType(type);
+        dto.setDate(date);
+        return dto;
+    }
+}
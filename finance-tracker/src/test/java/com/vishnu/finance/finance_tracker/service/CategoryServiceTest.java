@@ -0,0 +1,126 @@
+package com.vishnu.finance.finance_tracker.service;
+
+import com.vishnu.finance.finance_tracker.config.MoneyConfig;
+import com.vishnu.finance.finance_tracker.dto.BudgetDTO;
+import com.vishnu.finance.finance_tracker.dto.TransactionDTO;
+import com.vishnu.finance.finance_tracker.entity.Category;
+import com.vishnu.finance.finance_tracker.entity.TransactionType;
+import com.vishnu.finance.finance_tracker.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@Import({CategoryService.class, TransactionService.class, BudgetService.class, MonthlySummaryService.class, LedgerStore.class, NoteSearchIndex.class, BalanceService.class, AnalyticsService.class, MoneyConfig.class, TestFixtures.class})
+class CategoryServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Test
+    void deletingACategoryRemovesItsTransactionsBudgetsAndRollupsOnly() {
+        User user = fixtures.user("owner");
+        Category food = fixtures.category(user, "Food");
+        Category rent = fixtures.category(user, "Rent");
+        User other = fixtures.user("other");
+        Category otherFood = fixtures.category(other, "Food");
+        for (Category category : new Category[]{food, food, rent, otherFood}) {
+            transactionService.createTransaction(category.getUser().getId(), transaction(category));
+            budgetService.createBudget(category.getUser().getId(), budget(category));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        categoryService.deleteCategory(user.getId(), food.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(0, count("Category", food));
+        assertEquals(0, count("Transaction", food));
+        assertEquals(0, count("Budget", food));
+        assertEquals(0, count("MonthlySummary", food));
+
+        assertEquals(1, count("Transaction", rent));
+        assertEquals(1, count("Budget", rent));
+        assertEquals(1, count("MonthlySummary", rent));
+        assertEquals(1, count("Transaction", otherFood));
+        assertEquals(1, count("Budget", otherFood));
+    }
+
+    @Test
+    void cannotDeleteAnotherUsersCategory() {
+        User user = fixtures.user("intruder");
+        Category theirs = fixtures.category(fixtures.user("victim"), "Savings");
+        transactionService.createTransaction(theirs.getUser().getId(), transaction(theirs));
+        entityManager.flush();
+
+        assertThrows(RuntimeException.class, () -> categoryService.deleteCategory(user.getId(), theirs.getId()));
+        assertEquals(1, count("Transaction", theirs));
+    }
+
+    @Test
+    void updatesReturnTheLazilyLoadedCategoryName() {
+        User user = fixtures.user("updater");
+        Category food = fixtures.category(user, "Food");
+        TransactionDTO created = transactionService.createTransaction(user.getId(), transaction(food));
+        BudgetDTO budget = budgetService.createBudget(user.getId(), budget(food));
+        entityManager.flush();
+        entityManager.clear();
+
+        TransactionDTO change = new TransactionDTO();
+        change.setNote("groceries");
+        assertEquals("Food", transactionService.updateTransaction(user.getId(), created.getId(), change).getCategoryName());
+
+        BudgetDTO raise = new BudgetDTO();
+        raise.setBudgetAmount(new BigDecimal("250.00"));
+        assertEquals("Food", budgetService.updateBudget(user.getId(), budget.getId(), raise).getCategoryName());
+    }
+
+    private long count(String entity, Category category) {
+        String path = entity.equals("Category") ? "e.id" : "e.category.id";
+        return entityManager.getEntityManager()
+                .createQuery("SELECT COUNT(e) FROM " + entity + " e WHERE " + path + " = :id", Long.class)
+                .setParameter("id", category.getId())
+                .getSingleResult();
+    }
+
+
+
+    private TransactionDTO transaction(Category category) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setCategoryId(category.getId());
+        dto.setAmount(new BigDecimal("10.00"));
+        dto.setType(TransactionType.EXPENSE.name());
+        dto.setDate(LocalDateTime.of(2025, 4, 1, 12, 0));
+        return dto;
+    }
+
+    private BudgetDTO budget(Category category) {
+        BudgetDTO dto = new BudgetDTO();
+        dto.setCategoryId(category.getId());
+        dto.setBudgetAmount(new BigDecimal("100.00"));
+        dto.setMonth(YearMonth.of(2025, 4));
+        return dto;
+    }
+}
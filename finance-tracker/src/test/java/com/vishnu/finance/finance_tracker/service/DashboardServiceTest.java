@@ -0,0 +1,87 @@
+package com.vishnu.finance.finance_tracker.service;
+
+import com.vishnu.finance.finance_tracker.config.MoneyConfig;
+import com.vishnu.finance.finance_tracker.dto.DashboardDTO;
+import com.vishnu.finance.finance_tracker.entity.Category;
+import com.vishnu.finance.finance_tracker.entity.TransactionType;
+import com.vishnu.finance.finance_tracker.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DataJpaTest
+@Import({DashboardService.class, LedgerStore.class, MonthlySummaryService.class, MoneyConfig.class, TestFixtures.class})
+class DashboardServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private MonthlySummaryService monthlySummaryService;
+
+    @Test
+    void dashboardIsBuiltFromAFixedNumberOfStatements() {
+        User user = fixtures.user("dash");
+
+        Category salary = fixtures.category(user, "Salary", TransactionType.INCOME);
+        Category food = fixtures.category(user, "Food", TransactionType.EXPENSE);
+        Category rent = fixtures.category(user, "Rent", TransactionType.EXPENSE);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 24; i++) {
+            fixtures.transaction(user, salary, "1000.00", TransactionType.INCOME, now.minusMonths(i));
+            fixtures.transaction(user, food, "12.50", TransactionType.EXPENSE, now.minusMonths(i));
+            fixtures.transaction(user, rent, "400.00", TransactionType.EXPENSE, now.minusMonths(i));
+        }
+        entityManager.flush();
+        // The fixtures bypass the write hooks that keep the rollup current
+        monthlySummaryService.rebuild(user.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        DashboardDTO dashboard = dashboardService.getDashboard(user.getId());
+
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        assertEquals(0, new BigDecimal("24000.00").compareTo(dashboard.getTotalIncome()));
+        assertEquals(0, new BigDecimal("9900.00").compareTo(dashboard.getTotalExpense()));
+        assertEquals(0, new BigDecimal("300.00").compareTo(dashboard.getCategoryExpenses().get("Food")));
+        assertEquals(0, new BigDecimal("9600.00").compareTo(dashboard.getCategoryExpenses().get("Rent")));
+        assertEquals(12, dashboard.getMonthlyData().size());
+        assertEquals(0, new BigDecimal("1000.00").compareTo(dashboard.getMonthlyData().get(YearMonth.now().toString())));
+        assertEquals(72, dashboard.getTransactionCount());
+
+        statistics.clear();
+        assertSame(dashboard, dashboardService.getDashboard(user.getId()));
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        dashboardService.onLedgerChanged(new LedgerChangedEvent(user.getId()));
+        dashboardService.getDashboard(user.getId());
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+}
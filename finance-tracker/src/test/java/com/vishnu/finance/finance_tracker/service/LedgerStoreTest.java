@@ -0,0 +1,253 @@
+package com.vishnu.finance.finance_tracker.service;
+
+import com.vishnu.finance.finance_tracker.dto.BudgetDTO;
+import com.vishnu.finance.finance_tracker.dto.CategoryDTO;
+import com.vishnu.finance.finance_tracker.dto.TransactionDTO;
+import com.vishnu.finance.finance_tracker.entity.Transaction;
+import com.vishnu.finance.finance_tracker.entity.TransactionType;
+import com.vishnu.finance.finance_tracker.entity.User;
+import com.vishnu.finance.finance_tracker.repository.BudgetRepository;
+import com.vishnu.finance.finance_tracker.repository.CategoryRepository;
+import com.vishnu.finance.finance_tracker.repository.MonthlySummaryRepository;
+import com.vishnu.finance.finance_tracker.repository.TransactionRepository;
+import com.vishnu.finance.finance_tracker.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Drives writes through the services once a user's ledger is loaded and checks
+ * after each step that the ledger-backed dashboard and budgets match the same
+ * figures aggregated by the database.
+ */
+@SpringBootTest(properties = "app.ledger.store.enabled=true")
+class LedgerStoreTest {
+
+    @Autowired
+    private LedgerStore ledgerStore;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private MonthlySummaryRepository monthlySummaryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private Money money;
+
+    @Test
+    void ledgerFollowsWritesAndMatchesTheDatabase() {
+        User user = new User();
+        user.setUsername("ledger");
+        user.setEmail("ledger@example.com");
+        user.setPassword("x");
+        Long userId = userRepository.save(user).getId();
+
+        Long salary = category(userId, "Salary", TransactionType.INCOME);
+        Long food = category(userId, "Food", TransactionType.EXPENSE);
+        Long rent = category(userId, "Rent", TransactionType.EXPENSE);
+        for (int m = 0; m < 3; m++) {
+            budget(userId, food, YearMonth.now().minusMonths(m));
+            budget(userId, rent, YearMonth.now().minusMonths(m));
+        }
+
+        // Well over one 64-row bitset word, spread across eighteen months
+        LocalDateTime now = LocalDateTime.now();
+        List<TransactionDTO> created = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            Long category = i % 5 == 0 ? salary : i % 2 == 0 ? food : rent;
+            String type = category.equals(salary) ? "INCOME" : "EXPENSE";
+            created.add(transactionService.createTransaction(userId,
+                    transaction(category, type, BigDecimal.valueOf(1_000 + i * 37L, 2), now.minusDays(i * 11L % 540))));
+        }
+
+        UserLedger ledger = ledgerStore.ledger(userId);
+        assertEquals(150, ledger.size());
+        assertMatchesDatabase(userId);
+
+        // Writes after loading are applied to the same ledger
+        created.sort(Comparator.comparing(TransactionDTO::getDate));
+        transactionService.createTransaction(userId, transaction(food, "EXPENSE", new BigDecimal("99.99"), now.minusDays(200)));
+        transactionService.createTransaction(userId, transaction(salary, "INCOME", new BigDecimal("0.01"), now));
+        TransactionDTO change = new TransactionDTO();
+        change.setAmount(new BigDecimal("123.45"));
+        change.setType("EXPENSE");
+        change.setCategoryId(rent);
+        transactionService.updateTransaction(userId, created.get(70).getId(), change);
+        transactionService.updateTransaction(userId, created.get(149).getId(), change);
+        for (int i : new int[]{0, 63, 64, 100, 148}) {
+            transactionService.deleteTransaction(userId, created.get(i).getId());
+        }
+        assertSame(ledger, ledgerStore.ledger(userId));
+        assertEquals(147, ledger.size());
+        assertMatchesDatabase(userId);
+
+        // Category changes reload it
+        CategoryDTO rename = new CategoryDTO();
+        rename.setName("Groceries");
+        categoryService.updateCategory(userId, food, rename);
+        UserLedger reloaded = ledgerStore.ledger(userId);
+        assertNotSame(ledger, reloaded);
+        assertMatchesDatabase(userId);
+
+        Long travel = category(userId, "Travel", TransactionType.EXPENSE);
+        transactionService.createTransaction(userId, transaction(travel, "EXPENSE", new BigDecimal("450.00"), now.minusDays(3)));
+        assertNotSame(reloaded, ledgerStore.ledger(userId));
+        assertMatchesDatabase(userId);
+    }
+
+    @Test
+    void concurrentColdReadsShareOneLoad() throws Exception {
+        User user = new User();
+        user.setUsername("ledger-cold");
+        user.setEmail("ledger-cold@example.com");
+        user.setPassword("x");
+        Long userId = userRepository.save(user).getId();
+        Long food = category(userId, "Food", TransactionType.EXPENSE);
+        budget(userId, food, YearMonth.now());
+        for (int i = 0; i < 20; i++) {
+            transactionService.createTransaction(userId,
+                    transaction(food, "EXPENSE", new BigDecimal("4.50"), LocalDateTime.now().minusDays(i)));
+        }
+
+        // Dashboard and budget reads race on the cold ledger; one caller loads it, the rest wait
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> reads = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                reads.add(pool.submit(i % 2 == 0
+                        ? () -> dashboardService.getDashboard(userId)
+                        : () -> budgetService.getUserBudgets(userId)));
+            }
+            for (Future<?> read : reads) {
+                read.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        UserLedger ledger = ledgerStore.ledger(userId);
+        assertEquals(20, ledger.size());
+        assertMatchesDatabase(userId);
+        assertSame(ledger, ledgerStore.ledger(userId));
+    }
+
+    @Test
+    void rowsWithoutATypeAreCountedButNotTotalled() {
+        User user = new User();
+        user.setUsername("ledger-untyped");
+        user.setEmail("ledger-untyped@example.com");
+        user.setPassword("x");
+        user = userRepository.save(user);
+        Long userId = user.getId();
+        Long food = category(userId, "Food", TransactionType.EXPENSE);
+        for (int i = 0; i < 3; i++) {
+            transactionService.createTransaction(userId,
+                    transaction(food, "EXPENSE", new BigDecimal("8.00"), LocalDateTime.now().minusDays(i)));
+        }
+
+        // Written around the API, as the schema allows
+        Transaction untyped = new Transaction();
+        untyped.setUser(user);
+        untyped.setCategory(categoryRepository.getReferenceById(food));
+        untyped.setAmount(new BigDecimal("5.00"));
+        untyped.setDate(LocalDateTime.now());
+        Long untypedId = transactionRepository.save(untyped).getId();
+
+        assertEquals(4, ledgerStore.ledger(userId).dashboard(YearMonth.now()).getTransactionCount());
+        assertMatchesDatabase(userId);
+
+        // Giving it a type through the API moves it into the totals without counting it twice
+        TransactionDTO typed = new TransactionDTO();
+        typed.setType("EXPENSE");
+        transactionService.updateTransaction(userId, untypedId, typed);
+        assertEquals(4, ledgerStore.ledger(userId).dashboard(YearMonth.now()).getTransactionCount());
+        assertMatchesDatabase(userId);
+    }
+
+    // Compares against services reading through a store that is switched off
+    private void assertMatchesDatabase(Long userId) {
+        StaticListableBeanFactory noRegistry = new StaticListableBeanFactory();
+        LedgerStore disabled = new LedgerStore(transactionRepository, categoryRepository, transactionManager,
+                money, false, 0, Duration.ZERO, noRegistry.getBeanProvider(MeterRegistry.class));
+        DashboardService fromDatabase = new DashboardService(transactionRepository, monthlySummaryRepository, disabled, transactionManager, 0, Duration.ZERO,
+                noRegistry.getBeanProvider(MeterRegistry.class));
+        BudgetService budgetsFromDatabase = new BudgetService(budgetRepository, userRepository, categoryRepository,
+                monthlySummaryRepository, disabled, money, eventPublisher, new TransactionTemplate(transactionManager));
+
+        assertEquals(fromDatabase.getDashboard(userId), ledgerStore.ledger(userId).dashboard(YearMonth.now()));
+        assertEquals(fromDatabase.getDashboard(userId), dashboardService.getDashboard(userId));
+        assertEquals(budgetsFromDatabase.getUserBudgets(userId), budgetService.getUserBudgets(userId));
+    }
+
+    private Long category(Long userId, String name, TransactionType type) {
+        CategoryDTO dto = new CategoryDTO();
+        dto.setName(name);
+        dto.setType(type.name());
+        return categoryService.createCategory(userId, dto).getId();
+    }
+
+    private void budget(Long userId, Long categoryId, YearMonth month) {
+        BudgetDTO dto = new BudgetDTO();
+        dto.setCategoryId(categoryId);
+        dto.setBudgetAmount(new BigDecimal("200.00"));
+        dto.setMonth(month);
+        budgetService.createBudget(userId, dto);
+    }
+
+    private TransactionDTO transaction(Long categoryId, String type, BigDecimal amount, LocalDateTime date) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setCategoryId(categoryId);
+        dto.setType(type);
+        dto.setAmount(amount);
+        dto.setDate(date);
+        return dto;
+    }
+}
@@ -0,0 +1,144 @@
+package com.vishnu.finance.finance_tracker.service;
+
+import com.vishnu.finance.finance_tracker.config.MoneyConfig;
+import com.vishnu.finance.finance_tracker.dto.DashboardDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the minor-unit arithmetic against the BigDecimal reductions it
+ * replaces, on seeded random data, for currencies with zero, two and three
+ * minor digits.
+ */
+class MoneyTest {
+    private static final Money USD = Money.of(Currency.getInstance("USD"));
+
+    @Test
+    void sumsMatchBigDecimalArithmetic() {
+        Random random = new Random(20);
+        for (String code : new String[]{"JPY", "USD", "KWD"}) {
+            Money money = Money.of(Currency.getInstance(code));
+            for (int run = 0; run < 200; run++) {
+                BigDecimal expected = BigDecimal.ZERO.setScale(money.scale());
+                long minor = 0;
+                for (int i = 0; i < 500; i++) {
+                    BigDecimal amount = randomAmount(random, money.scale());
+                    if (random.nextBoolean()) {
+                        expected = expected.add(amount);
+                        minor = Money.add(minor, money.toMinor(amount));
+                    } else {
+                        expected = expected.subtract(amount);
+                        minor = Money.subtract(minor, money.toMinor(amount));
+                    }
+                }
+                assertEquals(expected, money.toDecimal(minor), code);
+            }
+        }
+    }
+
+    @Test
+    void conversionRoundsHalfUpToTheCurrencyScale() {
+        Random random = new Random(21);
+        for (String code : new String[]{"JPY", "USD", "KWD"}) {
+            Money money = Money.of(Currency.getInstance(code));
+            for (int i = 0; i < 10_000; i++) {
+                BigDecimal amount = randomAmount(random, money.scale() + 1 + random.nextInt(3));
+                assertEquals(amount.setScale(money.scale(), RoundingMode.HALF_UP), money.toDecimal(money.toMinor(amount)), code);
+            }
+        }
+    }
+
+    @Test
+    void overflowThrowsInsteadOfWrapping() {
+        assertThrows(ArithmeticException.class, () -> Money.add(Long.MAX_VALUE, 1));
+        assertThrows(ArithmeticException.class, () -> Money.subtract(Long.MIN_VALUE, 1));
+        assertThrows(ArithmeticException.class, () -> USD.toMinor(new BigDecimal("1e17")));
+    }
+
+    @Test
+    void configRejectsCurrenciesThatDoNotMatchTheStoredScale() {
+        MoneyConfig config = new MoneyConfig();
+        assertEquals(2, config.money(Currency.getInstance("EUR")).scale());
+        assertThrows(IllegalStateException.class, () -> config.money(Currency.getInstance("JPY")));
+        assertThrows(IllegalStateException.class, () -> config.money(Currency.getInstance("KWD")));
+    }
+
+    @Test
+    void ledgerAggregatesMatchBigDecimalReductions() {
+        Random random = new Random(22);
+        YearMonth current = YearMonth.of(2026, 3);
+        long[] categoryIds = {11, 12, 13, 14, 15};
+        // Two categories share a name, as the dashboard groups by name
+        String[] categoryNames = {"Salary", "Food", "Rent", "Travel", "Food"};
+
+        for (int run = 0; run < 50; run++) {
+            List<Row> rows = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(2_000); i++) {
+                LocalDate date = current.atEndOfMonth().minusDays(random.nextInt(900));
+                Long categoryId = random.nextInt(20) == 0 ? null : categoryIds[random.nextInt(categoryIds.length)];
+                rows.add(new Row(i, date, randomAmount(random, 2).abs(), categoryId, random.nextBoolean()));
+            }
+            rows.sort((a, b) -> a.date().compareTo(b.date()));
+
+            UserLedger ledger = new UserLedger(rows.size(), USD, categoryIds, categoryNames);
+            for (Row row : rows) {
+                ledger.append(row.id(), (int) row.date().toEpochDay(), USD.toMinor(row.amount()), row.categoryId(), row.expense());
+            }
+
+            DashboardDTO dashboard = ledger.dashboard(current);
+            // Uncategorized rows have no rollup key and stay out of the totals
+            assertEquals(reduce(rows, row -> !row.expense() && row.categoryId() != null), dashboard.getTotalIncome());
+            assertEquals(reduce(rows, row -> row.expense() && row.categoryId() != null), dashboard.getTotalExpense());
+            assertEquals(dashboard.getTotalIncome().subtract(dashboard.getTotalExpense()), dashboard.getNetBalance());
+
+            Map<String, BigDecimal> byName = new HashMap<>();
+            for (Row row : rows) {
+                if (row.expense() && row.categoryId() != null) {
+                    byName.merge(categoryNames[(int) (row.categoryId() - 11)], row.amount(), BigDecimal::add);
+                }
+            }
+            assertEquals(byName, dashboard.getCategoryExpenses());
+
+            for (int m = 0; m < 12; m++) {
+                YearMonth month = current.minusMonths(m);
+                assertEquals(reduce(rows, row -> !row.expense() && row.categoryId() != null
+                                && YearMonth.from(row.date()).equals(month)),
+                        dashboard.getMonthlyData().get(month.toString()));
+                for (long categoryId : categoryIds) {
+                    BigDecimal spent = reduce(rows, row -> row.expense() && Long.valueOf(categoryId).equals(row.categoryId())
+                            && YearMonth.from(row.date()).equals(month));
+                    assertEquals(spent.setScale(2), USD.toDecimal(ledger.spent(categoryId, month)));
+                }
+            }
+        }
+    }
+
+    // Sum of the matching rows, or an unscaled zero when none match, as SQL SUM then the services report it
+    private static BigDecimal reduce(List<Row> rows, Predicate<Row> filter) {
+        return rows.stream().filter(filter).map(Row::amount).reduce(BigDecimal::add).orElse(BigDecimal.ZERO);
+    }
+
+    private static BigDecimal randomAmount(Random random, int scale) {
+        long unscaled = random.nextInt(4) == 0
+                ? random.nextLong() % 1_000_000_000_000L
+                : random.nextInt(1_000_000);
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+
+    private record Row(long id, LocalDate date, BigDecimal amount, Long categoryId, boolean expense) {
+    }
+}
@@ -0,0 +1,114 @@
+package com.vishnu.finance.finance_tracker.service;
+
+import com.vishnu.finance.finance_tracker.config.MoneyConfig;
+import com.vishnu.finance.finance_tracker.dto.TransactionDTO;
+import com.vishnu.finance.finance_tracker.entity.Category;
+import com.vishnu.finance.finance_tracker.entity.MonthlySummary;
+import com.vishnu.finance.finance_tracker.entity.TransactionType;
+import com.vishnu.finance.finance_tracker.entity.User;
+import com.vishnu.finance.finance_tracker.repository.MonthlySummaryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import({TransactionService.class, MonthlySummaryService.class, LedgerStore.class, NoteSearchIndex.class, BalanceService.class, AnalyticsService.class, MoneyConfig.class, TestFixtures.class})
+class MonthlySummaryServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private MonthlySummaryService monthlySummaryService;
+
+    @Autowired
+    private MonthlySummaryRepository monthlySummaryRepository;
+
+    @Test
+    void transactionWritesKeepRollupInStep() {
+        User user = fixtures.user("rollup");
+        Category food = fixtures.category(user, "Food");
+        Category rent = fixtures.category(user, "Rent");
+        LocalDateTime march = LocalDateTime.of(2025, 3, 10, 9, 0);
+
+        TransactionDTO first = transactionService.createTransaction(user.getId(), dto(food, "20.00", march));
+        transactionService.createTransaction(user.getId(), dto(food, "5.00", march));
+        TransactionDTO third = transactionService.createTransaction(user.getId(), dto(rent, "700.00", march));
+
+        TransactionDTO change = new TransactionDTO();
+        change.setAmount(new BigDecimal("25.00"));
+        transactionService.updateTransaction(user.getId(), first.getId(), change);
+
+        TransactionDTO move = new TransactionDTO();
+        move.setCategoryId(rent.getId());
+        transactionService.updateTransaction(user.getId(), first.getId(), move);
+
+        transactionService.deleteTransaction(user.getId(), third.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertTrue(monthlySummaryService.verify(user.getId()).isEmpty());
+
+        MonthlySummary foodMarch = find(user, food, YearMonth.of(2025, 3));
+        assertEquals(0, new BigDecimal("5.00").compareTo(foodMarch.getTotalAmount()));
+        assertEquals(1, foodMarch.getTransactionCount());
+
+        MonthlySummary rentMarch = find(user, rent, YearMonth.of(2025, 3));
+        assertEquals(0, new BigDecimal("25.00").compareTo(rentMarch.getTotalAmount()));
+        assertEquals(1, rentMarch.getTransactionCount());
+    }
+
+    @Test
+    void verifyReportsDriftAndRebuildRepairsIt() {
+        User user = fixtures.user("drift");
+        Category food = fixtures.category(user, "Food");
+        transactionService.createTransaction(user.getId(), dto(food, "10.00", LocalDateTime.of(2025, 1, 5, 12, 0)));
+        entityManager.flush();
+
+        monthlySummaryRepository.deleteByUserId(user.getId());
+        entityManager.clear();
+
+        List<MonthlySummaryService.Drift> drift = monthlySummaryService.verify(user.getId());
+        assertEquals(1, drift.size());
+        assertEquals(YearMonth.of(2025, 1), drift.get(0).key().month());
+
+        assertEquals(1, monthlySummaryService.rebuild(user.getId()));
+        entityManager.flush();
+        entityManager.clear();
+        assertTrue(monthlySummaryService.verify(user.getId()).isEmpty());
+    }
+
+    private MonthlySummary find(User user, Category category, YearMonth month) {
+        return monthlySummaryRepository.findByUserId(user.getId()).stream()
+                .filter(s -> s.getCategory().getId().equals(category.getId()) && s.getMonth().equals(month))
+                .findFirst()
+                .orElseThrow();
+    }
+
+
+
+    private TransactionDTO dto(Category category, String amount, LocalDateTime date) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setCategoryId(category.getId());
+        dto.setAmount(new BigDecimal(amount));
+        dto.setType(TransactionType.EXPENSE.name());
+        dto.setDate(date);
+        return dto;
+    }
+}
@@ -0,0 +1,236 @@
+package com.vishnu.finance.finance_tracker.service;
+
+import com.vishnu.finance.finance_tracker.dto.CategoryDTO;
+import com.vishnu.finance.finance_tracker.dto.TransactionDTO;
+import com.vishnu.finance.finance_tracker.entity.Transaction;
+import com.vishnu.finance.finance_tracker.entity.User;
+import com.vishnu.finance.finance_tracker.repository.TransactionRepository;
+import com.vishnu.finance.finance_tracker.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives note writes through the services once a user's index is loaded and
+ * checks every search against a scan of the user's notes, then round-trips
+ * the index through its snapshot files.
+ */
+@SpringBootTest
+class NoteSearchIndexTest {
+    private static final String[] WORDS = {
+            "coffee", "coffeehouse", "Café", "taxi", "TAXI-rank", "lunch", "lunchbox", "rent", "Rentals",
+            "groceries", "gym", "x", "2025", "20", "dinner", "supercalifragilisticexpialidocious-receipts"};
+    private static final String[] QUERIES = {
+            "coffee", "COFFEEH", "café", "caf", "taxi", "rank taxi", "lunch rent", "ren", "2", "2025", "x",
+            "supercalifragilisticexpialidocious", "lunch-gym", "nothing", "c"};
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @TempDir
+    private Path snapshots;
+
+    @Test
+    void indexFollowsWritesAndMatchesAScanOfTheNotes() {
+        Long userId = user("notes");
+        Long food = category(userId, "Food");
+        Long travel = category(userId, "Travel");
+        Long otherUser = user("notes-other");
+        transactionService.createTransaction(otherUser, transaction(category(otherUser, "Food"), "coffee taxi lunch"));
+
+        Random random = new Random(24);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            ids.add(transactionService.createTransaction(userId, transaction(i % 3 == 0 ? travel : food, note(random))).getId());
+        }
+        assertMatchesScan(userId);
+
+        // Writes after loading are applied to the loaded index
+        for (int i = 0; i < 40; i++) {
+            ids.add(transactionService.createTransaction(userId, transaction(food, note(random))).getId());
+        }
+        for (int i = 0; i < 30; i++) {
+            TransactionDTO change = new TransactionDTO();
+            change.setNote(note(random));
+            transactionService.updateTransaction(userId, ids.get(random.nextInt(ids.size())), change);
+        }
+        for (int i = 0; i < 25; i++) {
+            transactionService.deleteTransaction(userId, ids.remove(random.nextInt(ids.size())));
+        }
+        List<TransactionDTO> rows = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            rows.add(transaction(travel, note(random)));
+        }
+        transactionService.importTransactions(userId, rows);
+        assertMatchesScan(userId);
+
+        // A category delete drops the index, and the next search rebuilds it
+        categoryService.deleteCategory(userId, travel);
+        assertMatchesScan(userId);
+
+        assertThrows(RuntimeException.class, () -> transactionService.searchNotes(userId, " -- ", 10));
+        assertThrows(RuntimeException.class, () -> transactionService.searchNotes(userId, "coffee", 0));
+        assertEquals(5, transactionService.searchNotes(userId, "c", 5).size());
+    }
+
+    @Test
+    void snapshotsStandInForTheRescanWhileTheNotesMatch() throws Exception {
+        Long userId = user("snapshot");
+        Long food = category(userId, "Food");
+        Random random = new Random(25);
+        for (int i = 0; i < 50; i++) {
+            transactionService.createTransaction(userId, transaction(food, note(random)));
+        }
+
+        NoteSearchIndex first = persistentIndex();
+        long[] expected = first.search(userId, "lunch", 200);
+        first.persist();
+        assertTrue(Files.exists(snapshots.resolve(userId + ".idx")));
+
+        // Read back with the stats query alone, and the file used up
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        NoteSearchIndex restarted = persistentIndex();
+        assertArrayEquals(expected, restarted.search(userId, "lunch", 200));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertFalse(Files.exists(snapshots.resolve(userId + ".idx")));
+
+        // A snapshot taken before a write made elsewhere is rescanned
+        restarted.persist();
+        Long added = transactionService.createTransaction(userId, transaction(food, "late lunch")).getId();
+        long[] rescanned = persistentIndex().search(userId, "lunch", 200);
+        assertEquals(added, rescanned[0]);
+        assertEquals(expected.length + 1, rescanned.length);
+
+        // So is one taken before a note was edited in place, with the count and ids unchanged
+        NoteSearchIndex current = persistentIndex();
+        current.search(userId, "lunch", 200);
+        current.persist();
+        Transaction edited = transactionRepository.findById(added).orElseThrow();
+        edited.setNote("late dinner");
+        transactionRepository.save(edited);
+        assertEquals(expected.length, persistentIndex().search(userId, "lunch", 200).length);
+    }
+
+    @Test
+    void postingListsMatchASortedSet() {
+        Random random = new Random(26);
+        for (int run = 0; run < 200; run++) {
+            NoteIndex.Postings postings = new NoteIndex.Postings();
+            TreeSet<Long> expected = new TreeSet<>();
+            long base = random.nextInt(3) == 0 ? random.nextLong() >>> 2 : 1;
+            for (int i = 0; i < 300; i++) {
+                long id = base + (random.nextInt(4) == 0 ? random.nextInt(1 << 20) : expected.size() * 3L + random.nextInt(3));
+                if (random.nextInt(5) == 0 && !expected.isEmpty()) {
+                    Long existing = expected.ceiling(id);
+                    long removed = existing != null ? existing : expected.first();
+                    expected.remove(removed);
+                    assertEquals(expected.isEmpty(), postings.remove(removed));
+                } else {
+                    expected.add(id);
+                    postings.add(id);
+                }
+            }
+            assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(), postings.decode());
+        }
+    }
+
+    private void assertMatchesScan(Long userId) {
+        List<TransactionDTO> all = transactionRepository.findByUserId(userId);
+        for (String query : QUERIES) {
+            Set<String> prefixes = NoteIndex.terms(query);
+            List<Long> expected = all.stream()
+                    .filter(t -> prefixes.stream().allMatch(prefix ->
+                            NoteIndex.terms(t.getNote()).stream().anyMatch(term -> term.startsWith(prefix))))
+                    .map(TransactionDTO::getId)
+                    .sorted(Comparator.reverseOrder())
+                    .limit(TransactionService.MAX_PAGE_SIZE)
+                    .toList();
+            List<Long> found = transactionService.searchNotes(userId, query, TransactionService.MAX_PAGE_SIZE).stream()
+                    .map(TransactionDTO::getId)
+                    .toList();
+            assertEquals(expected, found, query);
+        }
+    }
+
+    private NoteSearchIndex persistentIndex() {
+        return new NoteSearchIndex(transactionRepository, userRepository, transactionManager, snapshots.toString(), false,
+                Long.MAX_VALUE, Duration.ofHours(1), new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+    }
+
+    private static String note(Random random) {
+        if (random.nextInt(8) == 0) {
+            return null;
+        }
+        StringBuilder note = new StringBuilder();
+        for (int i = 0; i < 1 + random.nextInt(4); i++) {
+            note.append(i == 0 ? "" : random.nextBoolean() ? " " : ", ").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return note.toString();
+    }
+
+    private Long user(String name) {
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("x");
+        return userRepository.save(user).getId();
+    }
+
+    private Long category(Long userId, String name) {
+        CategoryDTO dto = new CategoryDTO();
+        dto.setName(name);
+        dto.setType("EXPENSE");
+        return categoryService.createCategory(userId, dto).getId();
+    }
+
+    private TransactionDTO transaction(Long categoryId, String note) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setCategoryId(categoryId);
+        dto.setType("EXPENSE");
+        dto.setAmount(new BigDecimal("12.50"));
+        dto.setNote(note);
+        dto.setDate(LocalDateTime.of(2025, 3, 1, 12, 0));
+        return dto;
+    }
+}
@@ -0,0 +1,55 @@
+package com.vishnu.finance.finance_tracker.service;
+
+import com.vishnu.finance.finance_tracker.entity.Category;
+import com.vishnu.finance.finance_tracker.entity.Transaction;
+import com.vishnu.finance.finance_tracker.entity.TransactionType;
+import com.vishnu.finance.finance_tracker.entity.User;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Rows the {@code @DataJpaTest} service tests build on, persisted through the
+ * test's {@link TestEntityManager}. Import it alongside the services under test.
+ */
+@TestComponent
+class TestFixtures {
+    private final TestEntityManager entityManager;
+
+    TestFixtures(TestEntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    User user(String name) {
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("x");
+        return entityManager.persist(user);
+    }
+
+    Category category(User user, String name) {
+        return category(user, name, TransactionType.EXPENSE);
+    }
+
+    Category category(User user, String name, TransactionType type) {
+        Category category = new Category();
+        category.setName(name);
+        category.setType(type);
+        category.setUser(user);
+        return entityManager.persist(category);
+    }
+
+    // Written directly, bypassing the services and their rollups
+    Transaction transaction(User user, Category category, String amount, TransactionType type, LocalDateTime date) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setCategory(category);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setType(type);
+        transaction.setDate(date);
+        return entityManager.persist(transaction);
+    }
+}
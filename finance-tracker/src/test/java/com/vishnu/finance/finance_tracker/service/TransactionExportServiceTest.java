@@ -0,0 +1,111 @@
+package com.vishnu.finance.finance_tracker.service;
+
+import com.vishnu.finance.finance_tracker.entity.Category;
+import com.vishnu.finance.finance_tracker.entity.Transaction;
+import com.vishnu.finance.finance_tracker.entity.TransactionType;
+import com.vishnu.finance.finance_tracker.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import(TransactionExportService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class TransactionExportServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    private User user;
+    private Category food;
+
+    @BeforeEach
+    void seed() {
+        user = new User();
+        user.setUsername("export");
+        user.setEmail("export@example.com");
+        user.setPassword("x");
+        entityManager.persist(user);
+
+        food = new Category();
+        food.setName("Food, drinks");
+        food.setType(TransactionType.EXPENSE);
+        food.setUser(user);
+        entityManager.persist(food);
+
+        transaction(food, "12.50", TransactionType.EXPENSE, LocalDateTime.of(2025, 2, 1, 9, 0), "said \"hi\"");
+        transaction(food, "3.00", TransactionType.EXPENSE, LocalDateTime.of(2025, 1, 1, 9, 0), null);
+        transaction(food, "900.00", TransactionType.INCOME, LocalDateTime.of(2025, 3, 1, 9, 0), "refund");
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void writesCsvInLedgerOrderWithQuoting() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transactionExportService.export(user.getId(), TransactionExportService.Format.CSV, null, null, TransactionType.EXPENSE, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,date,type,category,amount,note", lines[0]);
+        assertTrue(lines[1].endsWith(",2025-01-01T09:00,EXPENSE,\"Food, drinks\",3.00,"));
+        assertTrue(lines[2].endsWith(",2025-02-01T09:00,EXPENSE,\"Food, drinks\",12.50,\"said \"\"hi\"\"\""));
+    }
+
+    @Test
+    void prefixesCsvFieldsThatWouldReadAsFormulas() throws Exception {
+        transaction(food, "1.00", TransactionType.EXPENSE,
+                LocalDateTime.of(2025, 4, 1, 9, 0), "=HYPERLINK(\"http://example.com\")");
+        transaction(food, "2.00", TransactionType.EXPENSE,
+                LocalDateTime.of(2025, 4, 2, 9, 0), "-5 off");
+        entityManager.flush();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transactionExportService.export(user.getId(), TransactionExportService.Format.CSV,
+                LocalDateTime.of(2025, 4, 1, 0, 0), null, null, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertTrue(lines[1].endsWith(",1.00,\"'=HYPERLINK(\"\"http://example.com\"\")\""));
+        assertTrue(lines[2].endsWith(",2.00,'-5 off"));
+    }
+
+    @Test
+    void writesOneJsonObjectPerLineWithinRange() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transactionExportService.export(user.getId(), TransactionExportService.Format.NDJSON,
+                LocalDateTime.of(2025, 2, 1, 0, 0), null, null, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":"));
+        assertTrue(lines[0].contains("\"amount\":12.50"));
+        assertTrue(lines[1].contains("\"type\":\"INCOME\""));
+    }
+
+    private void transaction(Category category, String amount, TransactionType type, LocalDateTime date, String note) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setCategory(category);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setType(type);
+        transaction.setDate(date);
+        transaction.setNote(note);
+        entityManager.persist(transaction);
+    }
+}
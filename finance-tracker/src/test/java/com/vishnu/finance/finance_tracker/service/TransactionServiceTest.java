@@ -0,0 +1,287 @@
+package com.vishnu.finance.finance_tracker.service;
+
+import com.vishnu.finance.finance_tracker.config.MoneyConfig;
+import com.vishnu.finance.finance_tracker.dto.ImportErrorDTO;
+import com.vishnu.finance.finance_tracker.dto.ImportResultDTO;
+import com.vishnu.finance.finance_tracker.dto.TransactionDTO;
+import com.vishnu.finance.finance_tracker.dto.TransactionFilterDTO;
+import com.vishnu.finance.finance_tracker.dto.TransactionPageDTO;
+import com.vishnu.finance.finance_tracker.entity.Category;
+import com.vishnu.finance.finance_tracker.entity.TransactionType;
+import com.vishnu.finance.finance_tracker.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import({TransactionService.class, MonthlySummaryService.class, LedgerStore.class, NoteSearchIndex.class, BalanceService.class, AnalyticsService.class, MoneyConfig.class, TestFixtures.class})
+class TransactionServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Test
+    void pagesWalkTheLedgerNewestFirstWithoutGapsOrRepeats() {
+        User user = fixtures.user("pages");
+        Category food = fixtures.category(user, "Food");
+
+        // Several rows share a timestamp so the id tie-breaker is exercised
+        LocalDateTime base = LocalDateTime.of(2025, 6, 1, 12, 0);
+        List<TransactionDTO> created = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            created.add(transactionService.createTransaction(user.getId(), dto(food, base.plusDays(i / 3))));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> expected = created.stream()
+                .sorted(Comparator.comparing(TransactionDTO::getDate).thenComparing(TransactionDTO::getId).reversed())
+                .map(TransactionDTO::getId)
+                .toList();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        TransactionPageDTO page;
+        do {
+            page = transactionService.getTransactionPage(user.getId(), cursor, 4, null, null);
+            page.getItems().forEach(t -> seen.add(t.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (page.isHasMore());
+
+        assertEquals(expected, seen);
+        assertEquals(3, pages);
+        assertNull(cursor);
+
+        TransactionPageDTO ranged = transactionService.getTransactionPage(
+                user.getId(), null, 50, base.plusDays(1), base.plusDays(2));
+        assertEquals(6, ranged.getItems().size());
+        assertFalse(ranged.isHasMore());
+    }
+
+    @Test
+    void rejectsOversizedPagesAndMalformedCursors() {
+        assertThrows(RuntimeException.class,
+                () -> transactionService.getTransactionPage(1L, null, TransactionService.MAX_PAGE_SIZE + 1, null, null));
+        assertThrows(RuntimeException.class,
+                () -> transactionService.getTransactionPage(1L, "not-a-cursor", 10, null, null));
+    }
+
+    @Test
+    void queriesMatchAFilteredScanForRandomCriteriaAndSorts() {
+        User user = fixtures.user("query");
+        List<Category> categories = List.of(fixtures.category(user, "Food"), fixtures.category(user, "Rent"), fixtures.category(user, "Travel"));
+        User other = fixtures.user("query-other");
+        transactionService.createTransaction(other.getId(), dto(fixtures.category(other, "Food"), LocalDateTime.of(2025, 1, 1, 0, 0)));
+
+        // Few distinct dates and amounts, so both sort keys tie and the id decides
+        Random random = new Random(25);
+        String[] notes = {null, "Coffee", "coffee beans", "50% off", "snake_case", "taxi", "TAXI home"};
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 9, 0);
+        for (int i = 0; i < 150; i++) {
+            TransactionDTO dto = dto(categories.get(random.nextInt(3)), base.plusDays(random.nextInt(20)));
+            dto.setType(random.nextInt(3) == 0 ? "INCOME" : "EXPENSE");
+            dto.setAmount(BigDecimal.valueOf(100 + random.nextInt(6) * 250L, 2));
+            dto.setNote(notes[random.nextInt(notes.length)]);
+            transactionService.createTransaction(user.getId(), dto);
+        }
+        // Undated rows appear in the amount sort only
+        for (int i = 0; i < 5; i++) {
+            fixtures.transaction(user, categories.get(i % 3), "3.50", TransactionType.EXPENSE, null);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        List<TransactionDTO> all = transactionService.getUserTransactions(user.getId());
+
+        String[] sorts = {null, "date", "date,asc", "amount", "AMOUNT,desc", "amount,asc"};
+        String[] texts = {"coffee", "%", "_", "TAXI", "tax i"};
+        for (int run = 0; run < 60; run++) {
+            TransactionFilterDTO filter = new TransactionFilterDTO();
+            if (random.nextBoolean()) {
+                filter.setStart(base.plusDays(random.nextInt(10)));
+            }
+            if (random.nextBoolean()) {
+                filter.setEnd(base.plusDays(10 + random.nextInt(10)));
+            }
+            if (random.nextInt(3) == 0) {
+                filter.setTypes(List.of(random.nextBoolean() ? "income" : "EXPENSE"));
+            }
+            if (random.nextInt(3) == 0) {
+                filter.setCategoryIds(List.of(categories.get(0).getId(), categories.get(random.nextInt(3)).getId()));
+            }
+            if (random.nextInt(3) == 0) {
+                filter.setMinAmount(new BigDecimal("3.50"));
+            }
+            if (random.nextInt(3) == 0) {
+                filter.setMaxAmount(new BigDecimal("11.00"));
+            }
+            if (random.nextInt(3) == 0) {
+                filter.setNote(texts[random.nextInt(texts.length)]);
+            }
+            filter.setSort(sorts[random.nextInt(sorts.length)]);
+            filter.setSize(1 + random.nextInt(30));
+
+            List<Long> seen = new ArrayList<>();
+            TransactionPageDTO page;
+            do {
+                page = transactionService.queryTransactions(user.getId(), filter);
+                assertTrue(page.getItems().size() <= filter.getSize());
+                page.getItems().forEach(t -> seen.add(t.getId()));
+                filter.setCursor(page.getNextCursor());
+            } while (page.isHasMore());
+
+            assertEquals(scan(all, filter), seen, filter.toString());
+        }
+    }
+
+    @Test
+    void queryReadsOnePageInOneStatementAndRejectsBadCriteria() {
+        User user = fixtures.user("query-statements");
+        Category food = fixtures.category(user, "Food");
+        for (int i = 0; i < 5; i++) {
+            transactionService.createTransaction(user.getId(), dto(food, LocalDateTime.of(2025, 1, 1 + i, 0, 0)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        TransactionFilterDTO filter = new TransactionFilterDTO();
+        filter.setCategoryIds(List.of(food.getId()));
+        filter.setSize(3);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        TransactionPageDTO page = transactionService.queryTransactions(user.getId(), filter);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals("Food", page.getItems().get(0).getCategoryName());
+        assertTrue(page.isHasMore());
+
+        // A cursor only continues the sort it was issued for
+        filter.setCursor(page.getNextCursor());
+        filter.setSort("amount");
+        assertThrows(RuntimeException.class, () -> transactionService.queryTransactions(user.getId(), filter));
+        filter.setCursor("not-a-cursor");
+        assertThrows(RuntimeException.class, () -> transactionService.queryTransactions(user.getId(), filter));
+
+        TransactionFilterDTO bad = new TransactionFilterDTO();
+        bad.setSort("note");
+        assertThrows(RuntimeException.class, () -> transactionService.queryTransactions(user.getId(), bad));
+        bad.setSort(null);
+        bad.setTypes(List.of("TRANSFER"));
+        assertThrows(RuntimeException.class, () -> transactionService.queryTransactions(user.getId(), bad));
+        bad.setTypes(null);
+        bad.setMinAmount(BigDecimal.TEN);
+        bad.setMaxAmount(BigDecimal.ONE);
+        assertThrows(RuntimeException.class, () -> transactionService.queryTransactions(user.getId(), bad));
+        bad.setMaxAmount(null);
+        bad.setSize(TransactionService.MAX_PAGE_SIZE + 1);
+        assertThrows(RuntimeException.class, () -> transactionService.queryTransactions(user.getId(), bad));
+    }
+
+    @Test
+    void importReportsBadRowsAndSavesTheRest() throws Exception {
+        User user = fixtures.user("importer");
+        Category food = fixtures.category(user, "Food");
+        entityManager.flush();
+
+        TransactionDTO unknownCategory = dto(food, LocalDateTime.of(2025, 1, 2, 0, 0));
+        unknownCategory.setCategoryId(-1L);
+        TransactionDTO missingAmount = dto(food, LocalDateTime.of(2025, 1, 3, 0, 0));
+        missingAmount.setAmount(null);
+
+        // A null element of a JSON body is reported like any other bad row
+        ImportResultDTO json = transactionService.importTransactions(user.getId(), Arrays.asList(
+                dto(food, LocalDateTime.of(2025, 1, 1, 0, 0)), unknownCategory, missingAmount, null));
+        assertEquals(1, json.getImported());
+        assertEquals(3, json.getFailed());
+        assertEquals(List.of(2, 3, 4), json.getErrors().stream().map(ImportErrorDTO::getRow).toList());
+
+        String csv = """
+                date,type,category,amount,note
+                2025-02-01T10:00,expense,food,"1,000.00",bad amount
+                2025-02-02T10:00,EXPENSE,Food,12.34,"lunch, with ""friends""\"
+                2025-02-03T10:00,TRANSFER,Food,1.00,
+                """;
+        ImportResultDTO fromCsv = transactionService.importCsv(user.getId(), new StringReader(csv));
+        assertEquals(1, fromCsv.getImported());
+        assertEquals(List.of(1, 3), fromCsv.getErrors().stream().map(ImportErrorDTO::getRow).toList());
+        assertEquals(2, fromCsv.getFailed());
+        assertTrue(fromCsv.getErrors().get(0).getMessage().startsWith("Unreadable row"));
+
+        List<TransactionDTO> saved = transactionService.getUserTransactions(user.getId());
+        assertEquals(2, saved.size());
+        assertTrue(saved.stream().anyMatch(t -> "lunch, with \"friends\"".equals(t.getNote())));
+    }
+
+    @Test
+    void rejectsAnImportChunkSizeBelowOne() {
+        // A chunk size of 0 would never advance through the rows
+        TransactionService unconfigured = new TransactionService(null, null, null, null, null, null, null, null, null);
+        assertThrows(IllegalStateException.class, unconfigured::checkImportChunkSize);
+    }
+
+    // The filter applied to every row in memory, in the order the query promises
+    private static List<Long> scan(List<TransactionDTO> all, TransactionFilterDTO filter) {
+        String sort = filter.getSort() == null ? "date" : filter.getSort().toLowerCase(Locale.ROOT);
+        Comparator<TransactionDTO> order = sort.startsWith("amount")
+                ? Comparator.comparing(TransactionDTO::getAmount)
+                : Comparator.comparing(TransactionDTO::getDate);
+        order = order.thenComparing(TransactionDTO::getId);
+        if (!sort.endsWith(",asc")) {
+            order = order.reversed();
+        }
+        return all.stream()
+                .filter(t -> t.getDate() != null || (sort.startsWith("amount") && filter.getStart() == null && filter.getEnd() == null))
+                .filter(t -> filter.getStart() == null || !t.getDate().isBefore(filter.getStart()))
+                .filter(t -> filter.getEnd() == null || !t.getDate().isAfter(filter.getEnd()))
+                .filter(t -> filter.getTypes() == null || filter.getTypes().stream().anyMatch(type -> type.equalsIgnoreCase(t.getType())))
+                .filter(t -> filter.getCategoryIds() == null || filter.getCategoryIds().contains(t.getCategoryId()))
+                .filter(t -> filter.getMinAmount() == null || t.getAmount().compareTo(filter.getMinAmount()) >= 0)
+                .filter(t -> filter.getMaxAmount() == null || t.getAmount().compareTo(filter.getMaxAmount()) <= 0)
+                .filter(t -> filter.getNote() == null || (t.getNote() != null
+                        && t.getNote().toLowerCase(Locale.ROOT).contains(filter.getNote().toLowerCase(Locale.ROOT))))
+                .sorted(order)
+                .map(TransactionDTO::getId)
+                .toList();
+    }
+
+
+
+    private TransactionDTO dto(Category category, LocalDateTime date) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setCategoryId(category.getId());
+        dto.setAmount(new BigDecimal("1.00"));
+        dto.setType(TransactionType.EXPENSE.name());
+        dto.setDate(date);
+        return dto;
+    }
+}
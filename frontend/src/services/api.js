@@ -23,6 +23,7 @@ export const authAPI = {
 
 export const transactionAPI = {
   getAll: () => api.get('/transactions'),
+  getPage: (params) => api.get('/transactions/page', { params }),
   create: (data) => api.post('/transactions', data),
   update: (id, data) => api.put(`/transactions/${id}`, data),
   delete: (id) => api.delete(`/transactions/${id}`),